@@ -0,0 +1,25 @@
+package com.dilip.studyplan.ats;
+
+/**
+ * Signals an ATS score is built from. Each feature is measured in [0, 1] and
+ * weighted; the default weights add up to 100.
+ */
+public enum AtsFeature {
+    KEYWORDS(40),
+    SKILL_LEVEL(30),
+    YEARS(7),
+    PROJECTS(7),
+    EDUCATION(6),
+    ACTION_VERBS(5),
+    QUANTIFIABLE_RESULTS(5);
+
+    private final double defaultWeight;
+
+    AtsFeature(double defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public double defaultWeight() {
+        return defaultWeight;
+    }
+}
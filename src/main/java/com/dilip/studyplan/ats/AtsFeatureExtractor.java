@@ -0,0 +1,32 @@
+package com.dilip.studyplan.ats;
+
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * Measures one {@link AtsFeature}. Extractors are immutable and precompiled
+ * (cue sets are built once); per-document state lives in the {@link Accumulator}
+ * they hand out, which the engine feeds every resume token exactly once.
+ */
+public interface AtsFeatureExtractor {
+
+    AtsFeature feature();
+
+    Accumulator start(AtsInput input);
+
+    /**
+     * False when the value comes from the {@link AtsInput} alone, so the engine can
+     * skip it during the token pass and refresh it without rescanning the resume.
+     */
+    default boolean readsTokens() {
+        return true;
+    }
+
+    interface Accumulator {
+
+        /** Called once per token, in document order. */
+        void accept(TokenizedText tokens, int index);
+
+        /** Feature value in [0, 1] after the pass. */
+        double value();
+    }
+}
@@ -0,0 +1,36 @@
+package com.dilip.studyplan.ats;
+
+import java.util.List;
+
+import com.dilip.studyplan.skill.AnalyzedDocument;
+
+/**
+ * What the ATS engine scores: an analyzed resume against the JD's required skills.
+ */
+public class AtsInput {
+
+    private final AnalyzedDocument resume;
+    private final List<String> requiredSkills;
+    private final byte[] currentLevels;
+
+    /**
+     * @param currentLevels the candidate's level for each required skill, aligned with {@code requiredSkills}
+     */
+    public AtsInput(AnalyzedDocument resume, List<String> requiredSkills, byte[] currentLevels) {
+        this.resume = resume;
+        this.requiredSkills = requiredSkills;
+        this.currentLevels = currentLevels;
+    }
+
+    public AnalyzedDocument getResume() {
+        return resume;
+    }
+
+    public List<String> getRequiredSkills() {
+        return requiredSkills;
+    }
+
+    public byte[] getCurrentLevels() {
+        return currentLevels;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dilip.studyplan.ats;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Feature vector (each value in [0, 1]) and the weighted 0-100 score.
+ */
+public class AtsScore {
+
+    private final EnumMap<AtsFeature, Double> features;
+    private final double score;
+    private final double[] extractorValues; // Per extractor, in engine order (for rescoring)
+
+    AtsScore(EnumMap<AtsFeature, Double> features, double score, double[] extractorValues) {
+        this.features = features;
+        this.score = score;
+        this.extractorValues = extractorValues;
+    }
+
+    public Map<AtsFeature, Double> getFeatures() {
+        return Collections.unmodifiableMap(features);
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    double[] extractorValues() {
+        return extractorValues;
+    }
+
+    /** Score formatted the way the UI shows it, e.g. "72%". */
+    public String toPercent() {
+        return String.format("%.0f%%", score);
+    }
+}
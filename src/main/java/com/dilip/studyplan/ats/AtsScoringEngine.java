@@ -0,0 +1,114 @@
+package com.dilip.studyplan.ats;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * Scores a resume with a fixed set of feature extractors in one pass over its
+ * tokens. Cost is linear in the resume length with no regex backtracking; the
+ * engine is a plain object so it can be benchmarked directly.
+ */
+public class AtsScoringEngine {
+
+    private final List<AtsFeatureExtractor> extractors;
+    private final EnumMap<AtsFeature, Double> weights;
+
+    public AtsScoringEngine(List<AtsFeatureExtractor> extractors, Map<AtsFeature, Double> weights) {
+        this.extractors = List.copyOf(extractors);
+        this.weights = new EnumMap<>(AtsFeature.class);
+        for (AtsFeature feature : AtsFeature.values()) {
+            this.weights.put(feature, weights.getOrDefault(feature, feature.defaultWeight()));
+        }
+    }
+
+    /**
+     * Engine with the standard extractors and the given weights (missing weights use the defaults)
+     */
+    public static AtsScoringEngine withDefaultExtractors(Map<AtsFeature, Double> weights) {
+        return new AtsScoringEngine(defaultExtractors(), weights);
+    }
+
+    public static List<AtsFeatureExtractor> defaultExtractors() {
+        List<AtsFeatureExtractor> extractors = new ArrayList<>();
+        extractors.add(new KeywordCoverageExtractor());
+        extractors.add(new SkillLevelExtractor());
+        extractors.add(new TermCueExtractor(AtsFeature.YEARS,
+                Set.of(), List.of("year", "experience")));
+        extractors.add(new TermCueExtractor(AtsFeature.PROJECTS,
+                Set.of("developed", "built"), List.of("project")));
+        extractors.add(new TermCueExtractor(AtsFeature.EDUCATION,
+                Set.of(), List.of("education", "degree", "bachelor", "master")));
+        extractors.add(new TermCueExtractor(AtsFeature.ACTION_VERBS,
+                Set.of("developed", "implemented", "designed", "managed"), List.of()));
+        extractors.add(new QuantifiedResultExtractor());
+        return extractors;
+    }
+
+    public AtsScore score(AtsInput input) {
+        // 1. Per-document state for every extractor
+        AtsFeatureExtractor.Accumulator[] accumulators = new AtsFeatureExtractor.Accumulator[extractors.size()];
+        List<AtsFeatureExtractor.Accumulator> tokenAccumulators = new ArrayList<>(accumulators.length);
+        for (int e = 0; e < accumulators.length; e++) {
+            accumulators[e] = extractors.get(e).start(input);
+            if (extractors.get(e).readsTokens()) {
+                tokenAccumulators.add(accumulators[e]);
+            }
+        }
+
+        // 2. One pass over the resume tokens
+        TokenizedText tokens = input.getResume().tokens();
+        for (int i = 0; i < tokens.size(); i++) {
+            for (AtsFeatureExtractor.Accumulator accumulator : tokenAccumulators) {
+                accumulator.accept(tokens, i);
+            }
+        }
+
+        double[] values = new double[accumulators.length];
+        for (int e = 0; e < accumulators.length; e++) {
+            values[e] = clamp(accumulators[e].value());
+        }
+        return combine(values);
+    }
+
+    /**
+     * Score for an input that differs from {@code previous}'s only in what non-token
+     * extractors read (e.g. the candidate's levels): token features are reused, so
+     * there is no pass over the resume
+     */
+    public AtsScore rescore(AtsScore previous, AtsInput input) {
+        double[] values = previous.extractorValues().clone();
+        if (values.length != extractors.size()) {
+            return score(input); // Scored by a different engine
+        }
+        for (int e = 0; e < values.length; e++) {
+            if (!extractors.get(e).readsTokens()) {
+                values[e] = clamp(extractors.get(e).start(input).value());
+            }
+        }
+        return combine(values);
+    }
+
+    /**
+     * Weighted sum of the feature vector; extractors of the same feature keep the highest value
+     */
+    private AtsScore combine(double[] values) {
+        EnumMap<AtsFeature, Double> features = new EnumMap<>(AtsFeature.class);
+        for (int e = 0; e < values.length; e++) {
+            features.merge(extractors.get(e).feature(), values[e], Math::max);
+        }
+        double score = 0.0;
+        for (Map.Entry<AtsFeature, Double> entry : features.entrySet()) {
+            score += weights.get(entry.getKey()) * entry.getValue();
+        }
+        return new AtsScore(features, Math.max(0, Math.min(100, score)), values);
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
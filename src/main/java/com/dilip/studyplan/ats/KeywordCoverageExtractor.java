@@ -0,0 +1,61 @@
+package com.dilip.studyplan.ats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillMatcher;
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * Share of required skills the resume mentions (name or any known synonym).
+ *
+ * Taxonomy skills are read from the document analysis; only required skills the
+ * taxonomy does not know need one extra matcher pass over the resume.
+ */
+public class KeywordCoverageExtractor implements AtsFeatureExtractor {
+
+    @Override
+    public AtsFeature feature() {
+        return AtsFeature.KEYWORDS;
+    }
+
+    @Override
+    public Accumulator start(AtsInput input) {
+        double coverage = coverage(input.getResume(), input.getRequiredSkills());
+        return new Accumulator() {
+            @Override
+            public void accept(TokenizedText tokens, int index) {
+            }
+
+            @Override
+            public double value() {
+                return coverage;
+            }
+        };
+    }
+
+    private static double coverage(AnalyzedDocument resume, List<String> requiredSkills) {
+        if (requiredSkills.isEmpty()) {
+            return 0.0;
+        }
+        int matched = 0;
+        Map<String, List<String>> unmatchedPhrases = new HashMap<>();
+        for (String skill : requiredSkills) {
+            if (resume.hits(skill) > 0) {
+                matched++;
+            } else {
+                unmatchedPhrases.put(skill, resume.taxonomy().phrases(skill));
+            }
+        }
+        if (!unmatchedPhrases.isEmpty()) {
+            for (int hits : SkillMatcher.of(unmatchedPhrases).countHits(resume.text())) {
+                if (hits > 0) {
+                    matched++;
+                }
+            }
+        }
+        return (double) matched / requiredSkills.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dilip.studyplan.ats;
+
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * 1 when the resume quantifies results: a percentage ("40%"), a count with a
+ * plus ("10+") or a number of years ("3 years"), otherwise 0.
+ */
+public class QuantifiedResultExtractor implements AtsFeatureExtractor {
+
+    @Override
+    public AtsFeature feature() {
+        return AtsFeature.QUANTIFIABLE_RESULTS;
+    }
+
+    @Override
+    public Accumulator start(AtsInput input) {
+        return new Accumulator() {
+            private boolean found;
+
+            @Override
+            public void accept(TokenizedText tokens, int index) {
+                if (found) {
+                    return;
+                }
+                String term = tokens.term(index);
+                if (!Character.isDigit(term.charAt(0))) {
+                    return;
+                }
+                char last = term.charAt(term.length() - 1);
+                found = last == '%' || last == '+'
+                        || (index + 1 < tokens.size() && "years".equals(tokens.term(index + 1)));
+            }
+
+            @Override
+            public double value() {
+                return found ? 1.0 : 0.0;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.dilip.studyplan.ats;
+
+import com.dilip.studyplan.skill.SkillVector;
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * Share of required skills the candidate already has at level 3 or above.
+ */
+public class SkillLevelExtractor implements AtsFeatureExtractor {
+
+    private static final int GOOD_LEVEL = 3;
+
+    @Override
+    public AtsFeature feature() {
+        return AtsFeature.SKILL_LEVEL;
+    }
+
+    @Override
+    public boolean readsTokens() {
+        return false;
+    }
+
+    @Override
+    public Accumulator start(AtsInput input) {
+        byte[] levels = input.getCurrentLevels();
+        double share = levels.length == 0 ? 0.0 : (double) SkillVector.countAtLeast(levels, GOOD_LEVEL) / levels.length;
+        return new Accumulator() {
+            @Override
+            public void accept(TokenizedText tokens, int index) {
+            }
+
+            @Override
+            public double value() {
+                return share;
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.dilip.studyplan.ats;
+
+import java.util.List;
+import java.util.Set;
+
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * 1 when any resume token is one of the cue terms or starts with one of the
+ * cue prefixes ("project" also covers "projects"), otherwise 0.
+ */
+public class TermCueExtractor implements AtsFeatureExtractor {
+
+    private final AtsFeature feature;
+    private final Set<String> terms;
+    private final String[] prefixes;
+
+    public TermCueExtractor(AtsFeature feature, Set<String> terms, List<String> prefixes) {
+        this.feature = feature;
+        this.terms = Set.copyOf(terms);
+        this.prefixes = prefixes.toArray(new String[0]);
+    }
+
+    @Override
+    public AtsFeature feature() {
+        return feature;
+    }
+
+    @Override
+    public Accumulator start(AtsInput input) {
+        return new Accumulator() {
+            private boolean found;
+
+            @Override
+            public void accept(TokenizedText tokens, int index) {
+                if (!found) {
+                    found = matches(tokens.term(index));
+                }
+            }
+
+            @Override
+            public double value() {
+                return found ? 1.0 : 0.0;
+            }
+        };
+    }
+
+    private boolean matches(String term) {
+        if (terms.contains(term)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (term.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,14 +1,96 @@
 package com.dilip.studyplan.config;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import com.dilip.studyplan.ats.AtsFeature;
+import com.dilip.studyplan.ats.AtsScoringEngine;
+
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * Background pool for speculative skill extraction started at upload time.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisExecutor(
+            @Value("${analysis.executor.core-pool-size:4}") int corePoolSize,
+            @Value("${analysis.executor.max-pool-size:8}") int maxPoolSize,
+            @Value("${analysis.executor.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        return executor;
+    }
+
+    /**
+     * Pool for recruiter batch ranking, kept apart from the common pool and from upload analysis.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchRankExecutor(
+            @Value("${batch.rank.threads:4}") int threads,
+            @Value("${batch.rank.queue-capacity:32}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-rank-");
+        return executor;
+    }
+
+    /**
+     * Single writer that stores newly seen JDs as job profiles, off the analysis path.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jobProfileExecutor(
+            @Value("${jobs.profile-writer.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("job-profile-");
+        return executor;
+    }
+
+    /**
+     * ATS scoring engine with configurable feature weights (defaults add up to 100).
+     */
+    @Bean
+    public AtsScoringEngine atsScoringEngine(
+            @Value("${ats.weights.keywords:40}") double keywords,
+            @Value("${ats.weights.skill-level:30}") double skillLevel,
+            @Value("${ats.weights.years:7}") double years,
+            @Value("${ats.weights.projects:7}") double projects,
+            @Value("${ats.weights.education:6}") double education,
+            @Value("${ats.weights.action-verbs:5}") double actionVerbs,
+            @Value("${ats.weights.quantifiable-results:5}") double quantifiableResults
+    ) {
+        Map<AtsFeature, Double> weights = new EnumMap<>(AtsFeature.class);
+        weights.put(AtsFeature.KEYWORDS, keywords);
+        weights.put(AtsFeature.SKILL_LEVEL, skillLevel);
+        weights.put(AtsFeature.YEARS, years);
+        weights.put(AtsFeature.PROJECTS, projects);
+        weights.put(AtsFeature.EDUCATION, education);
+        weights.put(AtsFeature.ACTION_VERBS, actionVerbs);
+        weights.put(AtsFeature.QUANTIFIABLE_RESULTS, quantifiableResults);
+        return AtsScoringEngine.withDefaultExtractors(weights);
+    }
 }
@@ -0,0 +1,65 @@
+package com.dilip.studyplan.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary + read replica routing, active only when {@code datasource.replica.url} is set;
+ * otherwise Spring Boot's single auto-configured datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class DataSourceConfig {
+
+    // Both pools are beans so the context closes them on shutdown; the routing proxy is not closeable
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Value("${datasource.replica.url}") String replicaUrl,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${datasource.replica.driver-class-name:${spring.datasource.driverClassName:}}") String replicaDriver,
+            @Value("${datasource.replica.maximum-pool-size:10}") int replicaPoolSize
+    ) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .driverClassName(replicaDriver.isBlank() ? null : replicaDriver)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            WriteStickiness stickiness
+    ) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, stickiness));
+    }
+}
@@ -0,0 +1,39 @@
+package com.dilip.studyplan.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else (writes and
+ * non-transactional statements) to the primary.
+ *
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before the read-only flag is bound, and the proxy
+ * defers the real lookup to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final WriteStickiness stickiness;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, WriteStickiness stickiness) {
+        this.stickiness = stickiness;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !stickiness.requiresPrimary() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,132 @@
+package com.dilip.studyplan.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Read-your-writes for replica routing: after a client writes, its reads go to
+ * the primary until the replica has had {@code max-lag-ms} to catch up.
+ *
+ * The write time travels with the client in a short-lived cookie, signed so it
+ * cannot be forged to pin reads to the primary; no server-side session is needed,
+ * and other clients keep reading from the replica. Instances behind one load
+ * balancer must share {@code datasource.replica.stickiness-key} (the default is
+ * a random per-process key). Does nothing when no replica is configured.
+ */
+@Component
+public class WriteStickiness {
+
+    static final String COOKIE_NAME = "replica-sticky";
+
+    private static final String LAST_WRITE_ATTRIBUTE = WriteStickiness.class.getName() + ".lastWrite";
+    private static final String HMAC = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long maxLagMillis;
+    private final SecretKeySpec key;
+
+    public WriteStickiness(
+            @Value("${datasource.replica.url:}") String replicaUrl,
+            @Value("${datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${datasource.replica.stickiness-key:}") String stickinessKey
+    ) {
+        this.enabled = !replicaUrl.isBlank();
+        this.maxLagMillis = maxLagMillis;
+        byte[] keyBytes = stickinessKey.getBytes(StandardCharsets.UTF_8);
+        if (stickinessKey.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+    }
+
+    /**
+     * Record that the current client just wrote: later reads in this request and in the
+     * client's next requests (through the cookie) go to the primary
+     */
+    public void markWrite() {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servlet)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        servlet.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = servlet.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, now + "." + sign(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (maxLagMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    /**
+     * True while the replica may not have the current client's latest write yet
+     */
+    public boolean requiresPrimary() {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servlet)) {
+            return false;
+        }
+        // Parsed once per request; every connection checkout asks again
+        Object lastWrite = servlet.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (lastWrite == null) {
+            lastWrite = lastWriteFromCookie(servlet.getRequest());
+            servlet.setAttribute(LAST_WRITE_ATTRIBUTE, lastWrite, RequestAttributes.SCOPE_REQUEST);
+        }
+        return lastWrite instanceof Long at && System.currentTimeMillis() - at < maxLagMillis;
+    }
+
+    /**
+     * Write time from a validly signed cookie, or 0 when there is none
+     */
+    private long lastWriteFromCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0L;
+        }
+        for (Cookie cookie : cookies) {
+            if (!COOKIE_NAME.equals(cookie.getName()) || cookie.getValue() == null) {
+                continue;
+            }
+            int dot = cookie.getValue().indexOf('.');
+            try {
+                long at = Long.parseLong(cookie.getValue().substring(0, dot));
+                byte[] signature = cookie.getValue().substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+                if (MessageDigest.isEqual(signature, sign(at).getBytes(StandardCharsets.US_ASCII))) {
+                    return at;
+                }
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                // Malformed - treated as no recent write
+            }
+        }
+        return 0L;
+    }
+
+    private String sign(long at) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            byte[] signature = mac.doFinal(Long.toString(at).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            // Every JVM is required to ship HmacSHA256
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
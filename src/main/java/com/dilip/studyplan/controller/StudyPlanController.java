@@ -1,8 +1,13 @@
 package com.dilip.studyplan.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -10,11 +15,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.dilip.studyplan.document.DocumentStore;
+import com.dilip.studyplan.document.DocumentType;
+import com.dilip.studyplan.document.StoredDocument;
+import com.dilip.studyplan.dto.BatchRankRequest;
 import com.dilip.studyplan.dto.GapAnalysisResponse;
 import com.dilip.studyplan.dto.GoalRequest;
+import com.dilip.studyplan.dto.HistoryPage;
+import com.dilip.studyplan.dto.JobMatch;
+import com.dilip.studyplan.dto.PlanSearchHit;
+import com.dilip.studyplan.dto.RankedCandidate;
 import com.dilip.studyplan.dto.StudyPlanRequest;
 import com.dilip.studyplan.dto.StudyPlanResponse;
+import com.dilip.studyplan.exception.ServiceBusyException;
+import com.dilip.studyplan.service.BatchRankingService;
+import com.dilip.studyplan.service.JobMatchService;
+import com.dilip.studyplan.service.PlanExportService;
 import com.dilip.studyplan.service.ResumeParserService;
 import com.dilip.studyplan.service.SkillGapService;
 import com.dilip.studyplan.service.StudyPlanService;
@@ -23,14 +43,30 @@ import com.dilip.studyplan.service.StudyPlanService;
 @RequestMapping("/api/study")
 public class StudyPlanController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SEARCH_PARTIAL_HEADER = "X-Search-Partial";
+
     private final StudyPlanService studyPlanService;
     private final SkillGapService skillGapService;
     private final ResumeParserService resumeParserService;
+    private final DocumentStore documentStore;
+    private final BatchRankingService batchRankingService;
+    private final JobMatchService jobMatchService;
+    private final PlanExportService planExportService;
+    private final ObjectMapper objectMapper;
 
-    public StudyPlanController(StudyPlanService studyPlanService, SkillGapService skillGapService, ResumeParserService resumeParserService) {
+    public StudyPlanController(StudyPlanService studyPlanService, SkillGapService skillGapService,
+                               ResumeParserService resumeParserService, DocumentStore documentStore,
+                               BatchRankingService batchRankingService, JobMatchService jobMatchService,
+                               PlanExportService planExportService, ObjectMapper objectMapper) {
         this.studyPlanService = studyPlanService;
         this.skillGapService = skillGapService;
         this.resumeParserService = resumeParserService;
+        this.documentStore = documentStore;
+        this.batchRankingService = batchRankingService;
+        this.jobMatchService = jobMatchService;
+        this.planExportService = planExportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/generate")
@@ -38,28 +74,100 @@ public class StudyPlanController {
         return studyPlanService.generatePlan(request);
     }
 
+    /**
+     * History newest first, one page at a time; follow {@code nextCursor} for older plans
+     */
     @GetMapping("/history")
-    public List<StudyPlanResponse> getHistory() {
-        return studyPlanService.getHistory();
+    public HistoryPage getHistory(@RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "size", required = false) Integer size) {
+        return studyPlanService.getHistoryPage(cursor, size);
+    }
+
+    /**
+     * Ranked full-text search over plan topics and bodies; a word ending in '*' matches as a prefix.
+     * Covers the newest {@code plans.search.max-documents} plans (a million by default); when older
+     * plans are left out the response carries {@code X-Search-Partial: true}
+     */
+    @GetMapping("/history/search")
+    public ResponseEntity<List<PlanSearchHit>> searchHistory(@RequestParam("q") String query,
+                                                             @RequestParam(value = "limit", required = false) Integer limit) {
+        List<PlanSearchHit> hits = studyPlanService.searchHistory(query, limit);
+        return ResponseEntity.ok()
+                .header(SEARCH_PARTIAL_HEADER, Boolean.toString(studyPlanService.isSearchPartial()))
+                .body(hits);
+    }
+    
+    /**
+     * Every plan (with its text) generated in the optional date range, streamed as NDJSON or CSV
+     */
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        PlanExportService.Format exportFormat = PlanExportService.Format.parse(format);
+        planExportService.validateRange(from, to);
+
+        StreamingResponseBody body = outputStream ->
+                planExportService.export(exportFormat, from, to, gzip, outputStream);
+        String fileName = "study-plans." + exportFormat.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
     
     @PostMapping("/analyze-gap")
     public GapAnalysisResponse analyzeGap(@RequestBody GoalRequest goalRequest) {
         return skillGapService.analyzeGaps(goalRequest);
     }
+
+    /**
+     * Stored job descriptions that best fit the candidate's resume and self ratings
+     */
+    @PostMapping("/match-jobs")
+    public List<JobMatch> matchJobs(@RequestBody GoalRequest goalRequest,
+                                    @RequestParam(value = "topK", required = false) Integer topK) {
+        return jobMatchService.match(skillGapService.currentSkillsFor(goalRequest), topK);
+    }
+
+    /**
+     * Rank many resumes against one JD; streams the top results best first, one JSON object per line
+     */
+    @PostMapping(value = "/rank-resumes", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> rankResumes(@RequestBody BatchRankRequest request) {
+        List<RankedCandidate> ranked = batchRankingService.rank(request);
+
+        StreamingResponseBody body = outputStream -> {
+            for (RankedCandidate candidate : ranked) {
+                outputStream.write(objectMapper.writeValueAsBytes(candidate));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
     
     @PostMapping("/upload-resume")
     public Map<String, Object> uploadResume(@RequestParam("file") MultipartFile file) {
         try {
             String resumeText = resumeParserService.extractTextFromResume(file);
             Map<String, Integer> skills = resumeParserService.extractSkillsFromResume(resumeText, null);
+            StoredDocument document = documentStore.save(DocumentType.RESUME, resumeText);
+            skillGapService.prefetchResumeSkills(document);
             
+            // Only the id goes back to the browser; the text stays server-side
             return Map.of(
                 "success", true,
-                "resumeText", resumeText,
+                "documentId", document.getId(),
+                "characters", resumeText.length(),
                 "skills", skills,
                 "message", "Resume parsed successfully. Found " + skills.size() + " skills."
             );
+        } catch (ServiceBusyException e) {
+            // Over the document memory budget - let the handler answer 503
+            throw e;
         } catch (Exception e) {
             return Map.of(
                 "success", false,
@@ -72,12 +180,19 @@ public class StudyPlanController {
     public Map<String, Object> uploadJD(@RequestParam("file") MultipartFile file) {
         try {
             String jdText = resumeParserService.extractTextFromResume(file); // Reuse same parser
+            StoredDocument document = documentStore.save(DocumentType.JOB_DESCRIPTION, jdText);
+            // Start the (slow) LLM skill extraction while the user fills in the rest of the form
+            skillGapService.prefetchRequiredSkills(document);
             
             return Map.of(
                 "success", true,
-                "jdText", jdText,
+                "documentId", document.getId(),
+                "characters", jdText.length(),
                 "message", "Job description parsed successfully."
             );
+        } catch (ServiceBusyException e) {
+            // Over the document memory budget - let the handler answer 503
+            throw e;
         } catch (Exception e) {
             return Map.of(
                 "success", false,
@@ -6,9 +6,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.dilip.studyplan.document.AnalysisStore;
+import com.dilip.studyplan.document.DocumentStore;
+import com.dilip.studyplan.document.DocumentType;
 import com.dilip.studyplan.dto.GapAnalysisResponse;
 import com.dilip.studyplan.dto.GoalRequest;
+import com.dilip.studyplan.dto.HistoryPage;
 import com.dilip.studyplan.dto.StudyPlanResponse;
 import com.dilip.studyplan.service.SkillGapService;
 import com.dilip.studyplan.service.StudyPlanService;
@@ -18,18 +23,25 @@ public class WebController {
 
     private final StudyPlanService service;
     private final SkillGapService skillGapService;
+    private final DocumentStore documentStore;
+    private final AnalysisStore analysisStore;
 
-    public WebController(StudyPlanService service, SkillGapService skillGapService) {
+    public WebController(StudyPlanService service, SkillGapService skillGapService, DocumentStore documentStore,
+                         AnalysisStore analysisStore) {
         this.service = service;
         this.skillGapService = skillGapService;
+        this.documentStore = documentStore;
+        this.analysisStore = analysisStore;
     }
 
     @GetMapping("/")
-    public String home(Model model) {
+    public String home(@RequestParam(value = "historyCursor", required = false) String historyCursor, Model model) {
         GoalRequest goalRequest = new GoalRequest();
         goalRequest.setGoalType("JOB"); // Default to JOB
+        HistoryPage historyPage = service.getHistoryPage(historyCursor, null);
         model.addAttribute("goalRequest", goalRequest);
-        model.addAttribute("history", service.getHistory());
+        model.addAttribute("history", historyPage.getItems());
+        model.addAttribute("historyNextCursor", historyPage.getNextCursor());
         return "index";
     }
 
@@ -59,10 +71,8 @@ public class WebController {
                 goalRequest.setGoalType("JOB");
             }
             
-            // Validate that at least JD text or target text is provided
-            String jdText = goalRequest.getJdText() != null && !goalRequest.getJdText().isBlank() 
-                    ? goalRequest.getJdText() 
-                    : goalRequest.getTargetText();
+            // Validate that at least an uploaded JD, JD text or target text is provided
+            String jdText = skillGapService.resolveJdText(goalRequest);
             
             if (jdText == null || jdText.isBlank()) {
                 // Return to form with error message
@@ -75,14 +85,17 @@ public class WebController {
             }
             
             GapAnalysisResponse gapAnalysis = skillGapService.analyzeGaps(goalRequest);
+            String analysisId = analysisStore.save(gapAnalysis);
             
-            // Preserve resume and JD data for plan generation
+            // Preserve only document ids for plan generation; pasted text is moved server-side
             GoalRequest preservedRequest = new GoalRequest();
             preservedRequest.setGoalType("JOB");
-            preservedRequest.setTargetText(goalRequest.getTargetText());
-            preservedRequest.setResumeText(goalRequest.getResumeText());
-            preservedRequest.setJdText(goalRequest.getJdText());
+            preservedRequest.setJdDocumentId(storeIfInline(
+                    goalRequest.getJdDocumentId(), DocumentType.JOB_DESCRIPTION, jdText));
+            preservedRequest.setResumeDocumentId(storeIfInline(
+                    goalRequest.getResumeDocumentId(), DocumentType.RESUME, skillGapService.resolveResumeText(goalRequest)));
             preservedRequest.setSelfRatings(goalRequest.getSelfRatings());
+            preservedRequest.setAnalysisId(analysisId);
             
             model.addAttribute("goalRequest", preservedRequest);
             model.addAttribute("gapAnalysis", gapAnalysis);
@@ -108,7 +121,22 @@ public class WebController {
             goalRequest.setGoalType("JOB");
         }
         
-        GapAnalysisResponse gapAnalysis = skillGapService.analyzeGaps(goalRequest);
+        // Reuse the analysis the user just reviewed; only re-run it if that has been evicted
+        GapAnalysisResponse gapAnalysis = analysisStore.find(goalRequest.getAnalysisId()).orElse(null);
+        if (gapAnalysis == null) {
+            String jdText = skillGapService.resolveJdText(goalRequest);
+            if (jdText == null || jdText.isBlank()) {
+                // Stored documents expired between analysis and plan generation
+                GoalRequest newRequest = new GoalRequest();
+                newRequest.setGoalType("JOB");
+                model.addAttribute("goalRequest", newRequest);
+                model.addAttribute("error", "Your uploaded documents have expired. Please upload them again and re-run the analysis.");
+                model.addAttribute("history", service.getHistory());
+                return "index";
+            }
+            gapAnalysis = skillGapService.analyzeGaps(goalRequest);
+        }
+
         StudyPlanResponse planResponse = skillGapService.generatePlanFromGaps(goalRequest, gapAnalysis);
         
         GoalRequest newGoalRequest = new GoalRequest();
@@ -121,4 +149,16 @@ public class WebController {
         return "index";
     }
 
+    /**
+     * Keep an existing document id, or move inline text into the document store.
+     */
+    private String storeIfInline(String documentId, DocumentType type, String text) {
+        if (documentStore.find(documentId).isPresent()) {
+            return documentId;
+        }
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return documentStore.save(type, text).getId();
+    }
 }
@@ -0,0 +1,82 @@
+package com.dilip.studyplan.document;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dilip.studyplan.dto.GapAnalysisResponse;
+import com.dilip.studyplan.dto.SkillGap;
+import com.dilip.studyplan.util.BoundedTtlCache;
+
+/**
+ * Bounded, TTL-evicted store for completed gap analyses.
+ *
+ * /analyze-gap saves its result here and the form carries only the analysis id,
+ * so /generate-plan-from-gap builds the plan from the analysis the user just saw
+ * instead of re-running skill extraction and scoring.
+ *
+ * Analyses are mutable DTOs, so the store keeps its own snapshot and hands out a
+ * fresh copy on every lookup: neither the caller that saved an analysis nor one
+ * that found it can change what the next request gets.
+ */
+@Component
+public class AnalysisStore {
+
+    private final BoundedTtlCache<String, GapAnalysisResponse> analyses;
+
+    public AnalysisStore(
+            @Value("${analysis.store.max-entries:500}") int maxEntries,
+            @Value("${analysis.store.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.analyses = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * Store a snapshot of a completed analysis, stamp it with a new id and return that id.
+     */
+    public String save(GapAnalysisResponse analysis) {
+        String analysisId = UUID.randomUUID().toString();
+        analysis.setAnalysisId(analysisId);
+        analyses.put(analysisId, copyOf(analysis));
+        return analysisId;
+    }
+
+    /**
+     * A copy of the stored analysis, or empty when the id is unknown or has expired
+     */
+    public Optional<GapAnalysisResponse> find(String analysisId) {
+        if (analysisId == null || analysisId.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(analyses.get(analysisId)).map(AnalysisStore::copyOf);
+    }
+
+    private static GapAnalysisResponse copyOf(GapAnalysisResponse analysis) {
+        List<SkillGap> gaps = null;
+        if (analysis.getGaps() != null) {
+            gaps = new ArrayList<>(analysis.getGaps().size());
+            for (SkillGap gap : analysis.getGaps()) {
+                SkillGap copy = new SkillGap(gap.getSkillName(), gap.getRequiredLevel(), gap.getCurrentLevel(),
+                        gap.getPriority());
+                copy.setGapSize(gap.getGapSize());
+                gaps.add(copy);
+            }
+        }
+        GapAnalysisResponse copy = new GapAnalysisResponse(copyOf(analysis.getRequiredSkills()), gaps,
+                analysis.getReadinessScore());
+        copy.setAnalysisId(analysis.getAnalysisId());
+        copy.setAtsScore(analysis.getAtsScore());
+        copy.setRelevanceScore(analysis.getRelevanceScore());
+        copy.setPrioritizedSkills(copyOf(analysis.getPrioritizedSkills()));
+        return copy;
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.dilip.studyplan.document;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dilip.studyplan.exception.ServiceBusyException;
+
+/**
+ * Global admission control for documents being parsed.
+ *
+ * Every upload reserves its file size plus the maximum extracted text size
+ * before parsing starts, and gives it back when parsing ends; batch ranking
+ * holds its resumes' text for as long as it scores them. When the budget is
+ * used up, new work queues for a short while and is then rejected with 503
+ * instead of risking an OOM.
+ */
+@Component
+public class DocumentMemoryBudget {
+
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private final Semaphore permits;
+    private final int totalPermits;
+    private final long maxWaitMillis;
+
+    public DocumentMemoryBudget(
+            @Value("${documents.memory-budget-mb:256}") int budgetMb,
+            @Value("${documents.memory-budget.max-wait-ms:2000}") long maxWaitMillis
+    ) {
+        this.totalPermits = budgetMb * (1024 * 1024 / BYTES_PER_PERMIT);
+        // Fair, so large documents are not starved by a stream of small ones
+        this.permits = new Semaphore(totalPermits, true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Reserve {@code bytes} of the budget, waiting up to the configured time.
+     * Close the returned reservation to give the bytes back.
+     */
+    public Reservation reserve(long bytes) {
+        int needed = (int) Math.min(Integer.MAX_VALUE, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT);
+        if (needed > totalPermits) {
+            throw new ServiceBusyException("Document is too large to process.");
+        }
+
+        try {
+            if (!permits.tryAcquire(needed, maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Server is busy processing other documents. Please try again shortly.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting to process the document.");
+        }
+        return new Reservation(needed);
+    }
+
+    /**
+     * Run {@code work} holding {@code bytes} of the budget, giving them back when it returns or throws
+     */
+    public <T, E extends Exception> T withReserved(long bytes, ReservedWork<T, E> work) throws E {
+        Reservation reservation = reserve(bytes);
+        try {
+            return work.run();
+        } finally {
+            reservation.close();
+        }
+    }
+
+    public long availableBytes() {
+        return (long) permits.availablePermits() * BYTES_PER_PERMIT;
+    }
+
+    /** Work done while a reservation is held. */
+    @FunctionalInterface
+    public interface ReservedWork<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public final class Reservation implements AutoCloseable {
+
+        private int held;
+
+        private Reservation(int held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            if (held > 0) {
+                permits.release(held);
+                held = 0;
+            }
+        }
+    }
+}
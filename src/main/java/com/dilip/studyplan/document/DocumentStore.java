@@ -0,0 +1,73 @@
+package com.dilip.studyplan.document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dilip.studyplan.util.BoundedTtlCache;
+
+/**
+ * Bounded, TTL-evicted store for uploaded resume / JD text.
+ *
+ * Uploads return only the document id, so the browser never has to post
+ * the full text back on /analyze-gap or /generate-plan-from-gap.
+ */
+@Component
+public class DocumentStore {
+
+    private final BoundedTtlCache<String, StoredDocument> documents;
+
+    public DocumentStore(
+            @Value("${documents.store.max-entries:500}") int maxEntries,
+            @Value("${documents.store.ttl-minutes:60}") long ttlMinutes,
+            @Value("${documents.store.max-chars:50000000}") long maxChars
+    ) {
+        this.documents = new BoundedTtlCache<>(
+                maxEntries,
+                Duration.ofMinutes(ttlMinutes),
+                maxChars,
+                document -> document.getText().length()
+        );
+    }
+
+    /**
+     * Store parsed text and return the stored document (including its new id).
+     */
+    public StoredDocument save(DocumentType type, String text) {
+        StoredDocument document = new StoredDocument(
+                UUID.randomUUID().toString(),
+                type,
+                text != null ? text : "",
+                LocalDateTime.now()
+        );
+        documents.put(document.getId(), document);
+        return document;
+    }
+
+    public Optional<StoredDocument> find(String documentId) {
+        if (documentId == null || documentId.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(documents.get(documentId));
+    }
+
+    /**
+     * Text of the referenced document, or {@code inlineText} when there is no id
+     * or the document has already been evicted.
+     */
+    public String resolveText(String documentId, String inlineText) {
+        return find(documentId)
+                .map(StoredDocument::getText)
+                .orElse(inlineText);
+    }
+
+    public void remove(String documentId) {
+        if (documentId != null) {
+            documents.remove(documentId);
+        }
+    }
+}
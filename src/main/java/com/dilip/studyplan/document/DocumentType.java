@@ -0,0 +1,6 @@
+package com.dilip.studyplan.document;
+
+public enum DocumentType {
+    RESUME,
+    JOB_DESCRIPTION
+}
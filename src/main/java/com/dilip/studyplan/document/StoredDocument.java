@@ -0,0 +1,37 @@
+package com.dilip.studyplan.document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parsed document text held server-side under an opaque id.
+ */
+public class StoredDocument {
+
+    private final String id;
+    private final DocumentType type;
+    private final String text;
+    private final LocalDateTime storedAt;
+
+    public StoredDocument(String id, DocumentType type, String text, LocalDateTime storedAt) {
+        this.id = id;
+        this.type = type;
+        this.text = text;
+        this.storedAt = storedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public DocumentType getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LocalDateTime getStoredAt() {
+        return storedAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dilip.studyplan.dto;
+
+import java.util.List;
+
+public class BatchRankRequest {
+
+    private String jdText; // Job description text
+    private String jdDocumentId; // Or a JD uploaded earlier
+    private List<CandidateResume> resumes; // Applicants to rank
+    private Integer topK; // How many ranked results to return (optional)
+
+    public BatchRankRequest() {
+    }
+
+    public String getJdText() {
+        return jdText;
+    }
+
+    public void setJdText(String jdText) {
+        this.jdText = jdText;
+    }
+
+    public String getJdDocumentId() {
+        return jdDocumentId;
+    }
+
+    public void setJdDocumentId(String jdDocumentId) {
+        this.jdDocumentId = jdDocumentId;
+    }
+
+    public List<CandidateResume> getResumes() {
+        return resumes;
+    }
+
+    public void setResumes(List<CandidateResume> resumes) {
+        this.resumes = resumes;
+    }
+
+    public Integer getTopK() {
+        return topK;
+    }
+
+    public void setTopK(Integer topK) {
+        this.topK = topK;
+    }
+}
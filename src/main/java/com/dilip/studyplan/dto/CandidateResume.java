@@ -0,0 +1,40 @@
+package com.dilip.studyplan.dto;
+
+public class CandidateResume {
+
+    private String candidateId; // Recruiter's own id for the applicant
+    private String resumeText; // Inline resume text
+    private String resumeDocumentId; // Or a resume uploaded earlier
+
+    public CandidateResume() {
+    }
+
+    public CandidateResume(String candidateId, String resumeText) {
+        this.candidateId = candidateId;
+        this.resumeText = resumeText;
+    }
+
+    public String getCandidateId() {
+        return candidateId;
+    }
+
+    public void setCandidateId(String candidateId) {
+        this.candidateId = candidateId;
+    }
+
+    public String getResumeText() {
+        return resumeText;
+    }
+
+    public void setResumeText(String resumeText) {
+        this.resumeText = resumeText;
+    }
+
+    public String getResumeDocumentId() {
+        return resumeDocumentId;
+    }
+
+    public void setResumeDocumentId(String resumeDocumentId) {
+        this.resumeDocumentId = resumeDocumentId;
+    }
+}
@@ -4,10 +4,12 @@ import java.util.List;
 
 public class GapAnalysisResponse {
 
+    private String analysisId; // Server-side stored analysis (see AnalysisStore)
     private List<String> requiredSkills; // Skills required for the job/exam
     private List<SkillGap> gaps; // Skill gaps identified
     private String readinessScore; // Overall readiness percentage (0-100%)
     private String atsScore; // ATS (Applicant Tracking System) score percentage
+    private String relevanceScore; // BM25 relevance of the resume text to the JD (0-100%)
     private List<String> prioritizedSkills; // Skills prioritized based on gaps
 
     public GapAnalysisResponse() {
@@ -19,6 +21,14 @@ public class GapAnalysisResponse {
         this.readinessScore = readinessScore;
     }
 
+    public String getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(String analysisId) {
+        this.analysisId = analysisId;
+    }
+
     public List<String> getRequiredSkills() {
         return requiredSkills;
     }
@@ -51,6 +61,14 @@ public class GapAnalysisResponse {
         this.atsScore = atsScore;
     }
     
+    public String getRelevanceScore() {
+        return relevanceScore;
+    }
+    
+    public void setRelevanceScore(String relevanceScore) {
+        this.relevanceScore = relevanceScore;
+    }
+    
     public List<String> getPrioritizedSkills() {
         return prioritizedSkills;
     }
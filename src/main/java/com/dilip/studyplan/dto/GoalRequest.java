@@ -10,6 +10,9 @@ public class GoalRequest {
     private Integer days; // Optional: desired study duration
     private String resumeText; // Extracted text from uploaded resume
     private String jdText; // Extracted text from uploaded JD
+    private String resumeDocumentId; // Server-side stored resume (see DocumentStore)
+    private String jdDocumentId; // Server-side stored JD (see DocumentStore)
+    private String analysisId; // Server-side stored gap analysis (see AnalysisStore)
 
     public GoalRequest() {
     }
@@ -61,4 +64,28 @@ public class GoalRequest {
     public void setJdText(String jdText) {
         this.jdText = jdText;
     }
+
+    public String getResumeDocumentId() {
+        return resumeDocumentId;
+    }
+
+    public void setResumeDocumentId(String resumeDocumentId) {
+        this.resumeDocumentId = resumeDocumentId;
+    }
+
+    public String getJdDocumentId() {
+        return jdDocumentId;
+    }
+
+    public void setJdDocumentId(String jdDocumentId) {
+        this.jdDocumentId = jdDocumentId;
+    }
+
+    public String getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(String analysisId) {
+        this.analysisId = analysisId;
+    }
 }
@@ -0,0 +1,37 @@
+package com.dilip.studyplan.dto;
+
+import java.util.List;
+
+public class HistoryPage {
+
+    private List<StudyPlanSummary> items; // Newest first
+    private String nextCursor; // Pass as ?cursor= for the next (older) page; null on the last page
+
+    public HistoryPage() {
+    }
+
+    public HistoryPage(List<StudyPlanSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<StudyPlanSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StudyPlanSummary> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
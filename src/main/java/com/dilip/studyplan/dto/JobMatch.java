@@ -0,0 +1,63 @@
+package com.dilip.studyplan.dto;
+
+import java.util.List;
+
+public class JobMatch {
+
+    private Long jobId;
+    private String title; // First line of the job description
+    private String readinessScore; // Same formula as gap analysis readiness (0-100%)
+    private List<String> matchedSkills; // Required skills the candidate has
+    private List<String> missingSkills; // Required skills the candidate lacks
+
+    public JobMatch() {
+    }
+
+    public JobMatch(Long jobId, String title, String readinessScore, List<String> matchedSkills, List<String> missingSkills) {
+        this.jobId = jobId;
+        this.title = title;
+        this.readinessScore = readinessScore;
+        this.matchedSkills = matchedSkills;
+        this.missingSkills = missingSkills;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getReadinessScore() {
+        return readinessScore;
+    }
+
+    public void setReadinessScore(String readinessScore) {
+        this.readinessScore = readinessScore;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+}
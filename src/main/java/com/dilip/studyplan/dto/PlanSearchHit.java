@@ -0,0 +1,51 @@
+package com.dilip.studyplan.dto;
+
+public class PlanSearchHit {
+
+    private Long id;
+    private String topic;
+    private String generatedAt; // Display format, e.g. "05 Mar 2025, 14:30"
+    private double score; // BM25 relevance; only meaningful relative to other hits of the same query
+
+    public PlanSearchHit() {
+    }
+
+    public PlanSearchHit(Long id, String topic, String generatedAt, double score) {
+        this.id = id;
+        this.topic = topic;
+        this.generatedAt = generatedAt;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(String generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
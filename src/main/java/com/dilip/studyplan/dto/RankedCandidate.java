@@ -0,0 +1,83 @@
+package com.dilip.studyplan.dto;
+
+import java.util.List;
+
+public class RankedCandidate {
+
+    private int rank; // 1 = best match
+    private String candidateId;
+    private double atsScore; // 0-100
+    private double relevanceScore; // BM25 relevance to the JD, 0-100
+    private double readinessScore; // 0-100
+    private List<String> matchedSkills; // Required skills found in the resume
+    private List<String> missingSkills; // Required skills not found
+
+    public RankedCandidate() {
+    }
+
+    public RankedCandidate(String candidateId, double atsScore, double relevanceScore, double readinessScore,
+                           List<String> matchedSkills, List<String> missingSkills) {
+        this.candidateId = candidateId;
+        this.atsScore = atsScore;
+        this.relevanceScore = relevanceScore;
+        this.readinessScore = readinessScore;
+        this.matchedSkills = matchedSkills;
+        this.missingSkills = missingSkills;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public String getCandidateId() {
+        return candidateId;
+    }
+
+    public void setCandidateId(String candidateId) {
+        this.candidateId = candidateId;
+    }
+
+    public double getAtsScore() {
+        return atsScore;
+    }
+
+    public void setAtsScore(double atsScore) {
+        this.atsScore = atsScore;
+    }
+
+    public double getRelevanceScore() {
+        return relevanceScore;
+    }
+
+    public void setRelevanceScore(double relevanceScore) {
+        this.relevanceScore = relevanceScore;
+    }
+
+    public double getReadinessScore() {
+        return readinessScore;
+    }
+
+    public void setReadinessScore(double readinessScore) {
+        this.readinessScore = readinessScore;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+
+    public List<String> getMissingSkills() {
+        return missingSkills;
+    }
+
+    public void setMissingSkills(List<String> missingSkills) {
+        this.missingSkills = missingSkills;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dilip.studyplan.dto;
+
+public class StudyPlanSummary {
+
+    private Long id;
+    private String topic;
+    private String generatedAt; // Display format, e.g. "05 Mar 2025, 14:30"
+
+    public StudyPlanSummary() {
+    }
+
+    public StudyPlanSummary(Long id, String topic, String generatedAt) {
+        this.id = id;
+        this.topic = topic;
+        this.generatedAt = generatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(String generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
@@ -0,0 +1,146 @@
+package com.dilip.studyplan.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Text stored compressed, converted in either direction only on first use.
+ *
+ * Loading an entity keeps just the stored bytes; the text is inflated the first
+ * time {@link #text()} is called. Storage format:
+ * <pre>
+ *   [MAGIC][VERSION][codec] payload
+ *   codec RAW:     UTF-8 bytes
+ *   codec DEFLATE: 4-byte UTF-8 length, then raw deflate (best speed) data
+ * </pre>
+ * Short or incompressible text is stored RAW so it never grows by more than the header.
+ */
+@Immutable
+public final class CompressedText {
+
+    static final byte MAGIC = (byte) 0xC7;
+    static final byte VERSION = 1;
+    static final byte CODEC_RAW = 0;
+    static final byte CODEC_DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final int MIN_COMPRESS_BYTES = 256;
+
+    private volatile String text;
+    private volatile byte[] bytes;
+
+    private CompressedText(String text, byte[] bytes) {
+        this.text = text;
+        this.bytes = bytes;
+    }
+
+    public static CompressedText of(String text) {
+        return new CompressedText(text != null ? text : "", null);
+    }
+
+    /**
+     * Wrap bytes read from the database without decoding them yet
+     */
+    public static CompressedText fromStored(byte[] bytes) {
+        return new CompressedText(null, bytes);
+    }
+
+    public String text() {
+        String current = text;
+        if (current == null) {
+            current = decode(bytes);
+            text = current;
+        }
+        return current;
+    }
+
+    /** Encoded form, as written to the database. */
+    public byte[] stored() {
+        byte[] current = bytes;
+        if (current == null) {
+            current = encode(text);
+            bytes = current;
+        }
+        return current;
+    }
+
+    public static byte[] encode(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length + 4 < utf8.length) {
+                return ByteBuffer.allocate(HEADER_LENGTH + 4 + deflated.length)
+                        .put(MAGIC).put(VERSION).put(CODEC_DEFLATE)
+                        .putInt(utf8.length)
+                        .put(deflated)
+                        .array();
+            }
+        }
+        return ByteBuffer.allocate(HEADER_LENGTH + utf8.length)
+                .put(MAGIC).put(VERSION).put(CODEC_RAW)
+                .put(utf8)
+                .array();
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored.length < HEADER_LENGTH || stored[0] != MAGIC || stored[1] != VERSION) {
+            throw new IllegalArgumentException("Unsupported compressed text header");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+        switch (stored[2]) {
+            case CODEC_RAW:
+                return new String(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+            case CODEC_DEFLATE:
+                int length = buffer.getInt();
+                return new String(inflate(stored, buffer.position(), length), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException("Unsupported compressed text codec: " + stored[2]);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, int offset, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, offset, stored.length - offset);
+            byte[] output = new byte[length];
+            int written = 0;
+            while (written < length) {
+                int n = inflater.inflate(output, written, length - written);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                written += n;
+            }
+            if (written != length) {
+                throw new IllegalArgumentException("Compressed text is truncated");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
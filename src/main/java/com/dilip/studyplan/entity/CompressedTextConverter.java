@@ -0,0 +1,21 @@
+package com.dilip.studyplan.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link CompressedText} to a binary column; decoding is deferred to {@link CompressedText#text()}.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<CompressedText, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(CompressedText attribute) {
+        return attribute != null ? attribute.stored() : null;
+    }
+
+    @Override
+    public CompressedText convertToEntityAttribute(byte[] dbData) {
+        return dbData != null ? CompressedText.fromStored(dbData) : null;
+    }
+}
@@ -4,16 +4,31 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+// Schema is managed by Flyway (db/migration); this mirrors the covering history index
+@Table(indexes = @Index(name = "idx_study_plan_history", columnList = "generatedAt, id, topic"))
 public class StudyPlan {
 
+    // Ids come in blocks from id_sequence (IDENTITY would rule out batched inserts)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "study_plan_ids")
+    @TableGenerator(name = "study_plan_ids", table = "id_sequence", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "study_plan", allocationSize = 50)
     private Long id;
 
     private String topic;
 
-    @Column(columnDefinition = "TEXT")
-    private String plan;
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // Shared body in plan_content (see PlanContentStore)
+
+    // Per-row bodies from before plan_content; PlanCompressionMigrator moves them into it
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "plan_data", columnDefinition = "LONGBLOB")
+    private CompressedText plan;
+
+    // Uncompressed column from before V3
+    @Column(name = "plan", columnDefinition = "TEXT")
+    private String legacyPlan;
 
     private LocalDateTime generatedAt;
 
@@ -24,8 +39,15 @@ public class StudyPlan {
     public String getTopic() { return topic; }
     public void setTopic(String topic) { this.topic = topic; }
 
-    public String getPlan() { return plan; }
-    public void setPlan(String plan) { this.plan = plan; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    /** Plan text held by this row (unflushed or legacy rows); shared bodies are read via {@link #getContentHash()}. */
+    public String getPlan() { return plan != null ? plan.text() : legacyPlan; }
+    public void setPlan(String plan) {
+        this.plan = plan != null ? CompressedText.of(plan) : null;
+        this.legacyPlan = null;
+    }
 
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
@@ -0,0 +1,40 @@
+package com.dilip.studyplan.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A study plan moved out of the hot table by the retention job; same id as before.
+ */
+@Entity
+@Table(name = "study_plan_archive")
+public class StudyPlanArchive {
+
+    @Id
+    private Long id;
+
+    private String topic;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // Body in plan_content, still referenced
+
+    private LocalDateTime generatedAt;
+
+    private LocalDateTime archivedAt;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
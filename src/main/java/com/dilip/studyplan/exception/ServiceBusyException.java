@@ -0,0 +1,9 @@
+package com.dilip.studyplan.exception;
+
+@SuppressWarnings("serial")
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
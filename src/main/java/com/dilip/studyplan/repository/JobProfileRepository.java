@@ -0,0 +1,10 @@
+package com.dilip.studyplan.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.dilip.studyplan.entity.JobProfile;
+
+public interface JobProfileRepository extends JpaRepository<JobProfile, Long> {
+	Optional<JobProfile> findByFingerprint(String fingerprint);
+}
@@ -0,0 +1,56 @@
+package com.dilip.studyplan.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out study plan ids from blocks reserved in the {@code id_sequence} table,
+ * so a plan has its id before it is written and inserts can be batched.
+ *
+ * Uses the same pooled-lo layout as the entity's table generator: {@code next_val}
+ * is the first id of the next unreserved block.
+ */
+@Component
+public class PlanIdAllocator {
+
+    private static final String SEQUENCE_NAME = "study_plan";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private long nextId;
+    private long blockEnd;
+
+    public PlanIdAllocator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${plans.id-block-size:50}") int blockSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockSize = blockSize;
+    }
+
+    public synchronized long next() {
+        if (nextId >= blockEnd) {
+            reserveBlock();
+        }
+        return nextId++;
+    }
+
+    private void reserveBlock() {
+        Long low = transactionTemplate.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_sequence WHERE sequence_name = ? FOR UPDATE", Long.class, SEQUENCE_NAME);
+            jdbcTemplate.update("UPDATE id_sequence SET next_val = ? WHERE sequence_name = ?",
+                    current + blockSize, SEQUENCE_NAME);
+            return current;
+        });
+        nextId = low;
+        blockEnd = low + blockSize;
+    }
+}
@@ -0,0 +1,16 @@
+package com.dilip.studyplan.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dilip.studyplan.entity.StudyPlanArchive;
+
+public interface StudyPlanArchiveRepository extends JpaRepository<StudyPlanArchive, Long> {
+
+	@Query("select a.id as id, a.topic as topic, a.generatedAt as generatedAt from StudyPlanArchive a where a.id in :ids")
+	List<StudyPlanSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
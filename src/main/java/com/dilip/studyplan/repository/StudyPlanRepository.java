@@ -1,8 +1,32 @@
 package com.dilip.studyplan.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.dilip.studyplan.entity.StudyPlan;
 
 public interface StudyPlanRepository extends JpaRepository<StudyPlan, Long> {
 	void deleteById(Long id);
+
+	/** Newest history rows first; {@code pageable} only limits, no count query is run. */
+	@Query("select p.id as id, p.topic as topic, p.generatedAt as generatedAt from StudyPlan p "
+			+ "order by p.generatedAt desc, p.id desc")
+	List<StudyPlanSummaryView> findLatestSummaries(Pageable pageable);
+
+	/** Keyset page: rows strictly older than ({@code generatedAt}, {@code id}). */
+	@Query("select p.id as id, p.topic as topic, p.generatedAt as generatedAt from StudyPlan p "
+			+ "where p.generatedAt < :generatedAt or (p.generatedAt = :generatedAt and p.id < :id) "
+			+ "order by p.generatedAt desc, p.id desc")
+	List<StudyPlanSummaryView> findSummariesBefore(@Param("generatedAt") LocalDateTime generatedAt,
+			@Param("id") Long id, Pageable pageable);
+
+	/** Summaries for the given ids, in no particular order (search results are ordered by score). */
+	@Query("select p.id as id, p.topic as topic, p.generatedAt as generatedAt from StudyPlan p where p.id in :ids")
+	List<StudyPlanSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
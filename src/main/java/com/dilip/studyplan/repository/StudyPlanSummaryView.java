@@ -0,0 +1,15 @@
+package com.dilip.studyplan.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * History row without the plan text (Spring Data interface projection).
+ */
+public interface StudyPlanSummaryView {
+
+	Long getId();
+
+	String getTopic();
+
+	LocalDateTime getGeneratedAt();
+}
@@ -0,0 +1,579 @@
+package com.dilip.studyplan.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.dilip.studyplan.util.TopK;
+
+/**
+ * In-memory inverted index with BM25 scoring.
+ *
+ * Documents get dense int ids in insertion order, so each posting list holds doc ids
+ * ascending. Lists are stored compressed in one growable byte array per term:
+ * each posting is the gap to the previous doc id and the term frequency as
+ * var-ints, usually two bytes in all instead of eight. Every {@value #SKIP_INTERVAL}th
+ * posting is recorded in a skip table, so a term frequency lookup is a binary search
+ * over the skips plus a short scan. Document frequencies and the average
+ * document length are maintained incrementally as documents are added.
+ * Removed documents are tombstoned: they stop matching at once, but their postings
+ * stay (and document frequencies over-count) until {@link #compact} drops them.
+ * A sorted term dictionary backs prefix queries.
+ * Thread-safe: many concurrent readers, one writer.
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Postings between two skip table entries. */
+    static final int SKIP_INTERVAL = 128;
+
+    /** Most dictionary terms a single prefix expands to. */
+    public static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final NavigableMap<String, Integer> sortedTerms = new TreeMap<>();
+    private Postings[] postings = new Postings[1024];
+
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private String[] keys = new String[1024];
+    private int[] docLengths = new int[1024];
+    private final BitSet removed = new BitSet();
+    private int docCount; // Doc ids handed out, including removed documents
+    private int liveCount;
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index a document once per key; returns its doc id (the existing id if the key was seen before)
+     */
+    public int add(String key, List<String> terms) {
+        Map<String, Integer> frequencies = frequencies(terms);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdsByKey.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int docId = docCount++;
+            docIdsByKey.put(key, docId);
+            if (docId == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[docId] = key;
+            docLengths[docId] = terms.size();
+            liveCount++;
+            totalLength += terms.size();
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postingsFor(entry.getKey()).append(docId, entry.getValue());
+            }
+            return docId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document; returns false if the key is not indexed. Adding the key again gives it a new doc id.
+     */
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.remove(key);
+            if (docId == null) {
+                return false;
+            }
+            removed.set(docId);
+            keys[docId] = null;
+            liveCount--;
+            totalLength -= docLengths[docId];
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop removed documents from every posting list and the dictionary, renumbering
+     * the remaining doc ids; afterwards document frequencies are exact again. Holds the
+     * write lock for one pass over all postings.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (removed.isEmpty()) {
+                return;
+            }
+            // 1. New dense doc ids, in the old order so posting lists stay ascending
+            int[] newIds = new int[docCount];
+            int capacity = Math.max(1024, liveCount + liveCount / 2);
+            String[] compactKeys = new String[capacity];
+            int[] compactLengths = new int[capacity];
+            int next = 0;
+            for (int docId = 0; docId < docCount; docId++) {
+                if (removed.get(docId)) {
+                    newIds[docId] = -1;
+                    continue;
+                }
+                newIds[docId] = next;
+                compactKeys[next] = keys[docId];
+                compactLengths[next] = docLengths[docId];
+                docIdsByKey.put(keys[docId], next);
+                next++;
+            }
+
+            // 2. Posting lists without removed documents; terms left without any are forgotten
+            Postings[] compactPostings = new Postings[Math.max(1024, termIds.size())];
+            Map<String, Integer> oldTermIds = new HashMap<>(termIds);
+            termIds.clear();
+            sortedTerms.clear();
+            for (Map.Entry<String, Integer> entry : oldTermIds.entrySet()) {
+                PostingCursor old = postings[entry.getValue()].cursor();
+                Postings kept = new Postings();
+                while (old.next()) {
+                    int docId = newIds[old.docId];
+                    if (docId >= 0) {
+                        kept.append(docId, old.frequency);
+                    }
+                }
+                kept.trim();
+                if (kept.size > 0) {
+                    int termId = termIds.size();
+                    termIds.put(entry.getKey(), termId);
+                    sortedTerms.put(entry.getKey(), termId);
+                    compactPostings[termId] = kept;
+                }
+            }
+
+            postings = compactPostings;
+            keys = compactKeys;
+            docLengths = compactLengths;
+            docCount = next;
+            removed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removed documents whose postings are still held (zero right after {@link #compact})
+     */
+    public int removedCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Doc id for a key, or -1 if it was never indexed (or has been removed). Ids change on {@link #compact}
+     */
+    public int docId(String key) {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.getOrDefault(key, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of documents currently indexed (removed ones excluded). */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve query terms and their IDF against the current corpus once, for scoring many documents
+     */
+    public Query compile(List<String> queryTerms) {
+        return compile(queryTerms, List.of());
+    }
+
+    /**
+     * Like {@link #compile(List)}, plus each prefix expanded to up to
+     * {@link #MAX_PREFIX_EXPANSIONS} dictionary terms that start with it
+     */
+    public Query compile(List<String> queryTerms, List<String> prefixes) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> unique = frequencies(queryTerms);
+            for (String prefix : prefixes) {
+                int expansions = 0;
+                for (String term : sortedTerms.tailMap(prefix, true).keySet()) {
+                    if (!term.startsWith(prefix) || expansions++ == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    unique.putIfAbsent(term, 1);
+                }
+            }
+
+            int[] ids = new int[unique.size()];
+            String[] terms = new String[unique.size()];
+            double[] idf = new double[unique.size()];
+            int n = 0;
+            for (String term : unique.keySet()) {
+                Integer termId = termIds.get(term);
+                int df = termId != null ? Math.min(postings[termId].size, liveCount) : 0;
+                ids[n] = termId != null ? termId : -1;
+                terms[n] = term;
+                idf[n] = Math.log(1.0 + (liveCount - df + 0.5) / (df + 0.5));
+                n++;
+            }
+            return new Query(terms, ids, idf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best matching documents, best first. Accumulates scores term
+     * by term over the query's posting lists, so cost follows the postings touched
+     * rather than the corpus size.
+     */
+    public List<Hit> search(Query query, int limit) {
+        lock.readLock().lock();
+        try {
+            double averageLength = liveCount > 0 ? (double) totalLength / liveCount : 1.0;
+
+            // Sized by the postings the query reads, never by the corpus
+            long postingCount = 0;
+            for (int termId : query.termIds) {
+                postingCount += termId >= 0 ? postings[termId].size : 0;
+            }
+            ScoreTable scores = new ScoreTable((int) Math.min(postingCount, liveCount));
+
+            for (int q = 0; q < query.termIds.length; q++) {
+                if (query.termIds[q] < 0) {
+                    continue;
+                }
+                PostingCursor list = postings[query.termIds[q]].cursor();
+                while (list.next()) {
+                    int docId = list.docId;
+                    if (removed.get(docId)) {
+                        continue;
+                    }
+                    int tf = list.frequency;
+                    double lengthNorm = K1 * (1 - B + B * docLengths[docId] / Math.max(1.0, averageLength));
+                    scores.add(docId, query.idf[q] * tf * (K1 + 1) / (tf + lengthNorm));
+                }
+            }
+
+            TopK<Hit> best = new TopK<>(Math.max(1, limit), Comparator.comparingDouble(Hit::score));
+            for (int slot = 0; slot < scores.docIds.length; slot++) {
+                int docId = scores.docIds[slot];
+                if (docId >= 0) {
+                    best.offer(new Hit(keys[docId], scores.scores[slot]));
+                }
+            }
+            return best.toSortedList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 score of an indexed document for a compiled query
+     */
+    public double score(Query query, int docId) {
+        lock.readLock().lock();
+        try {
+            if (docId < 0 || docId >= docCount || removed.get(docId)) {
+                return 0.0;
+            }
+            double lengthNorm = lengthNorm(docLengths[docId]);
+            double score = 0.0;
+            for (int q = 0; q < query.termIds.length; q++) {
+                if (query.termIds[q] < 0) {
+                    continue;
+                }
+                int tf = postings[query.termIds[q]].frequency(docId);
+                if (tf > 0) {
+                    score += query.idf[q] * tf * (K1 + 1) / (tf + lengthNorm);
+                }
+            }
+            return score;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 score of a document that is not in the index, using the corpus statistics
+     */
+    public double score(Query query, List<String> docTerms) {
+        Map<String, Integer> frequencies = frequencies(docTerms);
+        lock.readLock().lock();
+        try {
+            double lengthNorm = lengthNorm(docTerms.size());
+            double score = 0.0;
+            for (int q = 0; q < query.terms.length; q++) {
+                int tf = frequencies.getOrDefault(query.terms[q], 0);
+                if (tf > 0) {
+                    score += query.idf[q] * tf * (K1 + 1) / (tf + lengthNorm);
+                }
+            }
+            return score;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double lengthNorm(int docLength) {
+        double averageLength = liveCount > 0 ? (double) totalLength / liveCount : Math.max(1, docLength);
+        return K1 * (1 - B + B * docLength / Math.max(1.0, averageLength));
+    }
+
+    private Postings postingsFor(String term) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = termIds.size();
+            termIds.put(term, termId);
+            sortedTerms.put(term, termId);
+            if (termId == postings.length) {
+                postings = Arrays.copyOf(postings, postings.length * 2);
+            }
+            postings[termId] = new Postings();
+        }
+        return postings[termId];
+    }
+
+    private static Map<String, Integer> frequencies(List<String> terms) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /** Query terms resolved to term ids with their IDF at compile time. */
+    public static final class Query {
+        private final String[] terms;
+        private final int[] termIds;
+        private final double[] idf;
+
+        private Query(String[] terms, int[] termIds, double[] idf) {
+            this.terms = terms;
+            this.termIds = termIds;
+            this.idf = idf;
+        }
+
+        public int termCount() {
+            return terms.length;
+        }
+    }
+
+    /** A matching document's key and BM25 score. */
+    public static final class Hit {
+        private final String key;
+        private final double score;
+
+        private Hit(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public double score() {
+            return score;
+        }
+    }
+
+    /** Scores by doc id in an open-addressing table: primitive arrays, no boxing. */
+    private static final class ScoreTable {
+        private int[] docIds;
+        private double[] scores;
+        private int size;
+
+        private ScoreTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1; // Load factor <= 0.5
+            allocate(capacity);
+        }
+
+        private void add(int docId, double score) {
+            int slot = slotOf(docId);
+            if (docIds[slot] < 0) {
+                docIds[slot] = docId;
+                size++;
+                if (size * 2 > docIds.length) {
+                    grow();
+                    slot = slotOf(docId);
+                }
+            }
+            scores[slot] += score;
+        }
+
+        private int slotOf(int docId) {
+            int mask = docIds.length - 1;
+            int slot = (docId * 0x9E3779B9) & mask;
+            while (docIds[slot] >= 0 && docIds[slot] != docId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldIds = docIds;
+            double[] oldScores = scores;
+            allocate(oldIds.length * 2);
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] >= 0) {
+                    int slot = slotOf(oldIds[i]);
+                    docIds[slot] = oldIds[i];
+                    scores[slot] = oldScores[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            docIds = new int[capacity];
+            Arrays.fill(docIds, -1);
+            scores = new double[capacity];
+        }
+    }
+
+    /**
+     * Posting list for one term: (doc id gap, term frequency) var-int pairs, doc ids
+     * ascending, with the doc id and byte offset of every {@value #SKIP_INTERVAL}th posting
+     */
+    private static final class Postings {
+        private byte[] data = new byte[8];
+        private int length; // Bytes used in data
+        private int size; // Postings
+        private int lastDocId;
+        private int[] skipDocIds; // Allocated once the list passes one skip interval
+        private int[] skipOffsets;
+
+        private void append(int docId, int frequency) {
+            if (size % SKIP_INTERVAL == 0 && size > 0) {
+                int skip = size / SKIP_INTERVAL - 1;
+                if (skipDocIds == null) {
+                    skipDocIds = new int[4];
+                    skipOffsets = new int[4];
+                } else if (skip == skipDocIds.length) {
+                    skipDocIds = Arrays.copyOf(skipDocIds, skip * 2);
+                    skipOffsets = Arrays.copyOf(skipOffsets, skip * 2);
+                }
+                skipDocIds[skip] = docId;
+                skipOffsets[skip] = length;
+            }
+            if (length + 10 > data.length) { // Room for two 5-byte var-ints
+                data = Arrays.copyOf(data, Math.max(length + 10, data.length + (data.length >> 1)));
+            }
+            writeVarInt(docId - lastDocId);
+            writeVarInt(frequency);
+            lastDocId = docId;
+            size++;
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+
+        /** Release the growth slack, e.g. after a rebuild */
+        private void trim() {
+            data = Arrays.copyOf(data, length);
+            if (skipDocIds != null) {
+                int skips = (size - 1) / SKIP_INTERVAL;
+                skipDocIds = Arrays.copyOf(skipDocIds, skips);
+                skipOffsets = Arrays.copyOf(skipOffsets, skips);
+            }
+        }
+
+        private PostingCursor cursor() {
+            return new PostingCursor(this, 0, 0, size);
+        }
+
+        private int frequency(int docId) {
+            if (size == 0 || docId > lastDocId) {
+                return 0;
+            }
+            PostingCursor cursor = cursor();
+            if (skipDocIds != null) {
+                // Last skip at or before docId; the skipped posting's gap is decoded from the skip's doc id
+                int skips = (size - 1) / SKIP_INTERVAL;
+                int index = Arrays.binarySearch(skipDocIds, 0, skips, docId);
+                int skip = index >= 0 ? index : -index - 2;
+                if (skip >= 0) {
+                    int first = (skip + 1) * SKIP_INTERVAL;
+                    cursor = new PostingCursor(this, skipOffsets[skip], skipDocIds[skip], size - first);
+                    cursor.next();
+                    cursor.docId = skipDocIds[skip];
+                    if (cursor.docId == docId) {
+                        return cursor.frequency;
+                    }
+                }
+            }
+            while (cursor.next()) {
+                if (cursor.docId >= docId) {
+                    return cursor.docId == docId ? cursor.frequency : 0;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /** Forward-only decoder over a posting list. */
+    private static final class PostingCursor {
+        private final byte[] data;
+        private int offset;
+        private int remaining;
+        private int docId;
+        private int frequency;
+
+        private PostingCursor(Postings postings, int offset, int docIdBefore, int remaining) {
+            this.data = postings.data;
+            this.offset = offset;
+            this.docId = docIdBefore;
+            this.remaining = remaining;
+        }
+
+        private boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            docId += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.dilip.studyplan.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.dilip.studyplan.skill.SkillVector;
+import com.dilip.studyplan.util.TopK;
+
+/**
+ * Inverted index from skill id to the jobs that require it.
+ *
+ * Matching walks only the posting lists of the candidate's skills, so query
+ * cost grows with the candidate's skills and the jobs sharing them, not with
+ * the total number of jobs. Jobs live in dense slots; postings are growable
+ * int arrays of slots.
+ */
+public class JobSkillIndex {
+
+    private long[] jobIds = new long[256];
+    private String[] titles = new String[256];
+    private int[][] jobSkills = new int[256][];
+    private int jobCount;
+
+    private int[][] postings = new int[256][];
+    private int[] postingSizes = new int[256];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long jobId, String title, int[] skillIds) {
+        int[] skills = Arrays.stream(skillIds).distinct().toArray();
+        lock.writeLock().lock();
+        try {
+            int slot = jobCount++;
+            if (slot == jobIds.length) {
+                jobIds = Arrays.copyOf(jobIds, slot * 2);
+                titles = Arrays.copyOf(titles, slot * 2);
+                jobSkills = Arrays.copyOf(jobSkills, slot * 2);
+            }
+            jobIds[slot] = jobId;
+            titles[slot] = title;
+            jobSkills[slot] = skills;
+
+            for (int skill : skills) {
+                if (skill >= postings.length) {
+                    int grown = Math.max(postings.length * 2, skill + 1);
+                    postings = Arrays.copyOf(postings, grown);
+                    postingSizes = Arrays.copyOf(postingSizes, grown);
+                }
+                int[] list = postings[skill];
+                if (list == null) {
+                    list = new int[4];
+                } else if (postingSizes[skill] == list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                }
+                list[postingSizes[skill]++] = slot;
+                postings[skill] = list;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return jobCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code topK} jobs for a candidate's skill vector, best first.
+     * Jobs sharing none of the candidate's skills score 0 and are not returned.
+     */
+    public List<Match> match(SkillVector candidate, int topK) {
+        lock.readLock().lock();
+        try {
+            // 1. Sum the candidate's levels per job, touching only postings of the candidate's skills
+            Map<Integer, int[]> levelSums = new HashMap<>();
+            for (int s = 0; s < candidate.size(); s++) {
+                int skill = candidate.id(s);
+                if (skill >= postings.length || postings[skill] == null) {
+                    continue;
+                }
+                int[] list = postings[skill];
+                for (int p = 0; p < postingSizes[skill]; p++) {
+                    levelSums.computeIfAbsent(list[p], k -> new int[1])[0] += candidate.levelAt(s);
+                }
+            }
+
+            // 2. Readiness = current levels / required levels, capped at 100%
+            TopK<Match> best = new TopK<>(Math.max(1, topK), Comparator
+                    .comparingDouble(Match::getReadiness)
+                    .thenComparingLong(match -> -match.getJobId()));
+            for (Map.Entry<Integer, int[]> entry : levelSums.entrySet()) {
+                int slot = entry.getKey();
+                int required = jobSkills[slot].length * SkillVector.REQUIRED_LEVEL;
+                double readiness = required == 0 ? 100.0 : Math.min(100.0, 100.0 * entry.getValue()[0] / required);
+                best.offer(new Match(jobIds[slot], titles[slot], jobSkills[slot], readiness));
+            }
+            return best.toSortedList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** One matched job with its readiness for the candidate. */
+    public static final class Match {
+        private final long jobId;
+        private final String title;
+        private final int[] skillIds;
+        private final double readiness;
+
+        private Match(long jobId, String title, int[] skillIds, double readiness) {
+            this.jobId = jobId;
+            this.title = title;
+            this.skillIds = skillIds;
+            this.readiness = readiness;
+        }
+
+        public long getJobId() {
+            return jobId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        /** Required skill ids of the job (do not modify). */
+        public int[] getSkillIds() {
+            return skillIds;
+        }
+
+        public double getReadiness() {
+            return readiness;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dilip.studyplan.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * Index terms of a tokenized text: its lower-cased tokens minus common English stop words.
+ */
+public final class SearchTerms {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "that", "the", "this", "to", "we", "will", "with", "you", "your");
+
+    private SearchTerms() {
+    }
+
+    public static List<String> of(TokenizedText tokens) {
+        List<String> terms = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String term = tokens.term(i);
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,260 @@
+package com.dilip.studyplan.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.ats.AtsInput;
+import com.dilip.studyplan.ats.AtsScoringEngine;
+import com.dilip.studyplan.document.DocumentMemoryBudget;
+import com.dilip.studyplan.document.DocumentStore;
+import com.dilip.studyplan.dto.BatchRankRequest;
+import com.dilip.studyplan.dto.CandidateResume;
+import com.dilip.studyplan.dto.RankedCandidate;
+import com.dilip.studyplan.exception.InvalidRequestException;
+import com.dilip.studyplan.search.Bm25Index;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillVector;
+import com.dilip.studyplan.util.Fingerprints;
+import com.dilip.studyplan.util.TopK;
+
+/**
+ * Recruiter batch mode: ranks many resumes against one JD.
+ *
+ * The JD is compiled once (required skills, taxonomy snapshot, BM25 query),
+ * then resumes are scored in parallel on the keyword path and only the best
+ * {@code topK} are kept, in per-thread bounded heaps merged at the end.
+ * Scoring runs on its own pool, and a batch's text is capped per resume and in
+ * total and reserved against the document memory budget while it is scored.
+ */
+@Service
+public class BatchRankingService {
+
+    // Ties go to the earlier resume in the request, so the same batch always ranks the same way
+    private static final Comparator<Scored> BEST_FIRST = Comparator
+            .comparingDouble((Scored scored) -> scored.candidate.getAtsScore())
+            .thenComparingDouble(scored -> scored.candidate.getRelevanceScore())
+            .thenComparingDouble(scored -> scored.candidate.getReadinessScore())
+            .thenComparing(Comparator.comparingInt((Scored scored) -> scored.index).reversed());
+
+    private final SkillGapService skillGapService;
+    private final DocumentAnalysisService documentAnalysis;
+    private final RelevanceService relevanceService;
+    private final AtsScoringEngine atsScoringEngine;
+    private final DocumentStore documentStore;
+    private final DocumentMemoryBudget memoryBudget;
+    private final Executor batchRankExecutor;
+    private final int maxResumes;
+    private final int defaultTopK;
+    private final int maxTextChars;
+    private final long maxTotalChars;
+    private final int threads;
+
+    public BatchRankingService(
+            SkillGapService skillGapService,
+            DocumentAnalysisService documentAnalysis,
+            RelevanceService relevanceService,
+            AtsScoringEngine atsScoringEngine,
+            DocumentStore documentStore,
+            DocumentMemoryBudget memoryBudget,
+            @Qualifier("batchRankExecutor") Executor batchRankExecutor,
+            @Value("${batch.rank.max-resumes:1000}") int maxResumes,
+            @Value("${batch.rank.default-top-k:50}") int defaultTopK,
+            @Value("${documents.max-text-chars:200000}") int maxTextChars,
+            @Value("${batch.rank.max-total-chars:20000000}") long maxTotalChars,
+            @Value("${batch.rank.threads:4}") int threads
+    ) {
+        this.skillGapService = skillGapService;
+        this.documentAnalysis = documentAnalysis;
+        this.relevanceService = relevanceService;
+        this.atsScoringEngine = atsScoringEngine;
+        this.documentStore = documentStore;
+        this.memoryBudget = memoryBudget;
+        this.batchRankExecutor = batchRankExecutor;
+        this.maxResumes = maxResumes;
+        this.defaultTopK = defaultTopK;
+        this.maxTextChars = maxTextChars;
+        this.maxTotalChars = maxTotalChars;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Best {@code topK} candidates for the JD, best first
+     */
+    public List<RankedCandidate> rank(BatchRankRequest request) {
+        // 1. Validate and resolve all input before doing any work
+        String jdText = documentStore.resolveText(request.getJdDocumentId(), request.getJdText());
+        if (jdText == null || jdText.isBlank()) {
+            throw new InvalidRequestException("Job description is required (jdText or a valid jdDocumentId)");
+        }
+        List<CandidateResume> resumes = request.getResumes();
+        if (resumes == null || resumes.isEmpty()) {
+            throw new InvalidRequestException("At least one resume is required");
+        }
+        if (resumes.size() > maxResumes) {
+            throw new InvalidRequestException("At most " + maxResumes + " resumes can be ranked per request");
+        }
+        List<String> resumeTexts = new ArrayList<>(resumes.size());
+        long totalChars = 0;
+        for (int i = 0; i < resumes.size(); i++) {
+            CandidateResume resume = resumes.get(i);
+            String text = documentStore.resolveText(resume.getResumeDocumentId(), resume.getResumeText());
+            if (resume.getResumeDocumentId() != null && (text == null || text.isBlank())) {
+                throw new InvalidRequestException("Resume document has expired for candidate " + candidateId(resume, i));
+            }
+            text = text != null ? text : "";
+            if (text.length() > maxTextChars) {
+                throw new InvalidRequestException("Resume for candidate " + candidateId(resume, i)
+                        + " is longer than " + maxTextChars + " characters");
+            }
+            totalChars += text.length();
+            resumeTexts.add(text);
+        }
+        if (totalChars > maxTotalChars) {
+            throw new InvalidRequestException("Resumes in one batch may total at most " + maxTotalChars + " characters");
+        }
+        int topK = request.getTopK() != null && request.getTopK() > 0
+                ? Math.min(request.getTopK(), resumes.size())
+                : Math.min(defaultTopK, resumes.size());
+
+        // The batch's text (UTF-16) plus one analysis in flight per scoring thread; 503 when over budget
+        long reservedBytes = 2L * totalChars + 4L * threads * Math.min(maxTextChars, totalChars);
+        return memoryBudget.withReserved(reservedBytes, () -> rankAll(jdText, resumes, resumeTexts, topK));
+    }
+
+    private List<RankedCandidate> rankAll(String jdText, List<CandidateResume> resumes, List<String> resumeTexts,
+                                          int topK) {
+        // 2. Compile the JD once
+        AnalyzedDocument jd = documentAnalysis.analyze(jdText);
+        relevanceService.index(jd);
+        CompiledJob job = new CompiledJob(jd, skillGapService.requiredSkillsFor(jd), relevanceService.compile(jd));
+
+        // 3. Score in parallel, keeping only the best topK per slice
+        int slices = Math.min(threads, resumes.size());
+        List<CompletableFuture<TopK<Scored>>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            int first = slice;
+            futures.add(scoreAsync(() -> {
+                TopK<Scored> best = new TopK<>(topK, BEST_FIRST);
+                for (int i = first; i < resumes.size(); i += slices) {
+                    best.offer(new Scored(i, score(job, candidateId(resumes.get(i), i), resumeTexts.get(i))));
+                }
+                return best;
+            }));
+        }
+        TopK<Scored> best = new TopK<>(topK, BEST_FIRST);
+        for (CompletableFuture<TopK<Scored>> future : futures) {
+            best.merge(join(future));
+        }
+        List<RankedCandidate> ranked = new ArrayList<>(topK);
+        for (Scored scored : best.toSortedList()) {
+            ranked.add(scored.candidate);
+        }
+        return withRanks(ranked);
+    }
+
+    private CompletableFuture<TopK<Scored>> scoreAsync(Supplier<TopK<Scored>> slice) {
+        try {
+            return CompletableFuture.supplyAsync(slice, batchRankExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(slice.get()); // Pool saturated - score on the caller
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static List<RankedCandidate> withRanks(List<RankedCandidate> ranked) {
+        for (int r = 0; r < ranked.size(); r++) {
+            ranked.get(r).setRank(r + 1);
+        }
+        return ranked;
+    }
+
+    private RankedCandidate score(CompiledJob job, String candidateId, String resumeText) {
+        // Batch resumes are analyzed against the JD's taxonomy snapshot and not cached or indexed,
+        // so a large batch does not evict interactive users' documents
+        AnalyzedDocument resume = AnalyzedDocument.analyze(resumeText, Fingerprints.sha256(resumeText), job.jd.taxonomy());
+
+        // Levels for the required skills straight from the hit counts, aligned with job.requiredSkills
+        byte[] levels = new byte[job.matcherIndexes.length];
+        for (int i = 0; i < levels.length; i++) {
+            int index = job.matcherIndexes[i];
+            levels[i] = (byte) (index >= 0 ? SkillGapService.levelForMentions(resume.hitsAt(index)) : 0);
+        }
+        double readiness = SkillVector.readiness(levels);
+
+        // DTO lists are only built for the response
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < levels.length; i++) {
+            (levels[i] > 0 ? matched : missing).add(job.requiredSkills.get(i));
+        }
+
+        double ats = resume.isBlank() ? 0.0
+                : atsScoringEngine.score(new AtsInput(resume, job.requiredSkills, levels)).getScore();
+        double relevance = job.bestRelevance > 0
+                ? 100.0 * Math.min(1.0, relevanceService.score(job.query, resume) / job.bestRelevance)
+                : 0.0;
+
+        return new RankedCandidate(candidateId, round(ats), round(relevance), round(readiness), matched, missing);
+    }
+
+    private static String candidateId(CandidateResume resume, int index) {
+        return resume.getCandidateId() != null && !resume.getCandidateId().isBlank()
+                ? resume.getCandidateId()
+                : "candidate-" + (index + 1);
+    }
+
+    private static double round(double score) {
+        return Math.round(score * 10.0) / 10.0;
+    }
+
+    /** A scored candidate with its position in the request, for tie-breaking. */
+    private static final class Scored {
+        private final int index;
+        private final RankedCandidate candidate;
+
+        private Scored(int index, RankedCandidate candidate) {
+            this.index = index;
+            this.candidate = candidate;
+        }
+    }
+
+    /** Everything about the JD that is shared by all resumes in a batch. */
+    private final class CompiledJob {
+        private final AnalyzedDocument jd;
+        private final List<String> requiredSkills;
+        private final int[] matcherIndexes; // Taxonomy matcher index per required skill, -1 if unknown
+        private final Bm25Index.Query query;
+        private final double bestRelevance;
+
+        private CompiledJob(AnalyzedDocument jd, List<String> requiredSkills, Bm25Index.Query query) {
+            this.jd = jd;
+            this.requiredSkills = requiredSkills;
+            this.matcherIndexes = new int[requiredSkills.size()];
+            for (int i = 0; i < matcherIndexes.length; i++) {
+                matcherIndexes[i] = jd.taxonomy().matcher().skillIndex(requiredSkills.get(i));
+            }
+            this.query = query;
+            this.bestRelevance = relevanceService.score(query, jd);
+        }
+    }
+}
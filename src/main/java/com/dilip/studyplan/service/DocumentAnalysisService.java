@@ -0,0 +1,52 @@
+package com.dilip.studyplan.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillTaxonomy;
+import com.dilip.studyplan.util.BoundedTtlCache;
+import com.dilip.studyplan.util.Fingerprints;
+
+/**
+ * Builds {@link AnalyzedDocument}s and caches them by content fingerprint, so the
+ * same resume or JD (uploaded once, analyzed many times) is tokenized and matched once.
+ */
+@Service
+public class DocumentAnalysisService {
+
+    private final SkillTaxonomyService taxonomyService;
+    private final BoundedTtlCache<String, AnalyzedDocument> analyzed;
+
+    public DocumentAnalysisService(
+            SkillTaxonomyService taxonomyService,
+            @Value("${analysis.documents.max-entries:500}") int maxEntries,
+            @Value("${analysis.documents.ttl-minutes:60}") long ttlMinutes,
+            @Value("${analysis.documents.max-chars:50000000}") long maxChars
+    ) {
+        this.taxonomyService = taxonomyService;
+        // Bounded by size as well as count: one analyzed document holds its text several times over
+        this.analyzed = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes), maxChars,
+                AnalyzedDocument::weight);
+    }
+
+    /**
+     * Analysis of {@code text} against the current taxonomy, reused for identical text
+     */
+    public AnalyzedDocument analyze(String text) {
+        String source = text != null ? text : "";
+        SkillTaxonomy taxonomy = taxonomyService.current();
+        String fingerprint = Fingerprints.sha256(source);
+
+        AnalyzedDocument cached = analyzed.get(fingerprint);
+        if (cached != null && cached.taxonomy() == taxonomy) {
+            return cached;
+        }
+        // Missing, or analyzed against a taxonomy that has since been reloaded
+        AnalyzedDocument document = AnalyzedDocument.analyze(source, fingerprint, taxonomy);
+        analyzed.put(fingerprint, document);
+        return document;
+    }
+}
@@ -0,0 +1,152 @@
+package com.dilip.studyplan.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.dto.JobMatch;
+import com.dilip.studyplan.entity.JobProfile;
+import com.dilip.studyplan.repository.JobProfileRepository;
+import com.dilip.studyplan.search.JobSkillIndex;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillIds;
+import com.dilip.studyplan.skill.SkillVector;
+
+/**
+ * Reverse job matching: every JD seen is persisted as a {@link JobProfile} and
+ * indexed by skill id, so one candidate can be scored against all stored JDs
+ * by walking only the postings of the candidate's skills.
+ *
+ * Registering a JD only queues it: the profile is written once, by a single
+ * background writer, so the skill lookups that discover JDs (prefetch threads,
+ * gap analysis) never wait on the database. A JD appears in matches once it
+ * has been stored.
+ */
+@Service
+public class JobMatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobMatchService.class);
+
+    private static final int MAX_TITLE_LENGTH = 120;
+
+    private final JobProfileRepository repository;
+    private final SkillIds skillIds;
+    private final Executor profileWriter;
+    private final int defaultTopK;
+
+    private final JobSkillIndex index = new JobSkillIndex();
+    private final Set<String> knownFingerprints = ConcurrentHashMap.newKeySet();
+
+    public JobMatchService(
+            JobProfileRepository repository,
+            SkillIds skillIds,
+            @Qualifier("jobProfileExecutor") Executor profileWriter,
+            @Value("${jobs.match.default-top-k:10}") int defaultTopK
+    ) {
+        this.repository = repository;
+        this.skillIds = skillIds;
+        this.profileWriter = profileWriter;
+        this.defaultTopK = defaultTopK;
+    }
+
+    /**
+     * Rebuild the in-memory index from the stored job profiles
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (JobProfile profile : repository.findAll()) {
+            if (knownFingerprints.add(profile.getFingerprint())) {
+                index.add(profile.getId(), profile.getTitle(), SkillVector.internAll(splitSkills(profile.getRequiredSkills()), skillIds));
+            }
+        }
+    }
+
+    /**
+     * Queue a JD's required skills to be persisted and indexed, the first time the JD is seen.
+     * Returns without touching the database.
+     */
+    public void register(AnalyzedDocument jd, List<String> requiredSkills) {
+        if (jd.isBlank() || requiredSkills.isEmpty() || !knownFingerprints.add(jd.fingerprint())) {
+            return;
+        }
+        // Only what the profile needs is queued, not the document
+        String fingerprint = jd.fingerprint();
+        String title = titleOf(jd.text());
+        List<String> skills = List.copyOf(requiredSkills);
+        try {
+            profileWriter.execute(() -> store(fingerprint, title, skills));
+        } catch (RejectedExecutionException e) {
+            knownFingerprints.remove(fingerprint);
+            log.warn("Job profile writer is backed up; JD {} will be stored when it is analyzed again", fingerprint);
+        }
+    }
+
+    private void store(String fingerprint, String title, List<String> requiredSkills) {
+        try {
+            JobProfile profile = repository.findByFingerprint(fingerprint).orElseGet(() -> {
+                JobProfile created = new JobProfile();
+                created.setFingerprint(fingerprint);
+                created.setTitle(title);
+                created.setRequiredSkills(String.join(",", requiredSkills));
+                created.setCreatedAt(LocalDateTime.now());
+                return repository.save(created);
+            });
+            index.add(profile.getId(), profile.getTitle(), SkillVector.internAll(requiredSkills, skillIds));
+        } catch (RuntimeException e) {
+            // Matching is best effort; let the next analysis of this JD retry
+            knownFingerprints.remove(fingerprint);
+            log.error("Could not store job profile for JD {}", fingerprint, e);
+        }
+    }
+
+    /**
+     * Best matching stored JDs for a candidate's skill levels, best first
+     */
+    public List<JobMatch> match(Map<String, Integer> currentSkills, Integer topK) {
+        int limit = topK != null && topK > 0 ? topK : defaultTopK;
+
+        SkillVector candidate = SkillVector.of(currentSkills, skillIds);
+
+        List<JobMatch> matches = new ArrayList<>();
+        for (JobSkillIndex.Match match : index.match(candidate, limit)) {
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int skill : match.getSkillIds()) {
+                (candidate.level(skill) > 0 ? matched : missing).add(skillIds.name(skill));
+            }
+            matches.add(new JobMatch(match.getJobId(), match.getTitle(),
+                    String.format("%.0f%%", match.getReadiness()), matched, missing));
+        }
+        return matches;
+    }
+
+    private static List<String> splitSkills(String joined) {
+        if (joined == null || joined.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(joined.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static String titleOf(String text) {
+        return text.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .findFirst()
+                .map(line -> line.length() > MAX_TITLE_LENGTH ? line.substring(0, MAX_TITLE_LENGTH) : line)
+                .orElse("Untitled role");
+    }
+}
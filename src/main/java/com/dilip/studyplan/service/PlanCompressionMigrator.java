@@ -0,0 +1,92 @@
+package com.dilip.studyplan.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dilip.studyplan.entity.CompressedText;
+
+/**
+ * Background rewrite of plans saved before shared storage: moves each row's own
+ * body (uncompressed {@code plan} TEXT or per-row {@code plan_data}) into
+ * {@link PlanContentStore} a small batch at a time, so startup is not blocked
+ * and the database never sees one huge transaction. Stops polling once no
+ * legacy rows are left.
+ */
+@Service
+public class PlanCompressionMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlanContentStore contentStore;
+    private final int batchSize;
+    private volatile boolean finished;
+
+    public PlanCompressionMigrator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PlanContentStore contentStore,
+            @Value("${plans.compression.migrate-batch-size:200}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.contentStore = contentStore;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${plans.compression.migrate-interval-ms:5000}",
+            initialDelayString = "${plans.compression.migrate-interval-ms:5000}")
+    public void migrateNextBatch() {
+        if (finished) {
+            return;
+        }
+        try {
+            int migrated = migrateBatch();
+            if (migrated == 0) {
+                finished = true;
+            } else {
+                System.err.println("Moved " + migrated + " legacy study plans to shared content");
+            }
+        } catch (Exception e) {
+            System.err.println("Plan compression migration failed, will retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Move one batch of legacy rows into shared content; returns how many were rewritten
+     */
+    int migrateBatch() {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, plan, plan_data FROM study_plan WHERE content_hash IS NULL "
+                        + "AND (plan IS NOT NULL OR plan_data IS NOT NULL) ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    byte[] planData = rs.getBytes("plan_data");
+                    String text = planData != null ? CompressedText.decode(planData) : rs.getString("plan");
+                    return new Object[] {rs.getLong("id"), text};
+                },
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 1. Reference the shared bodies, 2. point the rows at them
+            List<String> hashes = contentStore.addReferences(rows.stream().map(row -> (String) row[1]).toList());
+            for (int i = 0; i < rows.size(); i++) {
+                int updated = jdbcTemplate.update(
+                        "UPDATE study_plan SET content_hash = ?, plan = NULL, plan_data = NULL "
+                                + "WHERE id = ? AND content_hash IS NULL",
+                        hashes.get(i), rows.get(i)[0]);
+                if (updated == 0) {
+                    contentStore.release(hashes.get(i)); // Deleted or migrated meanwhile
+                }
+            }
+        });
+        return rows.size();
+    }
+}
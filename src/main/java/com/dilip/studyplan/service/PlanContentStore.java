@@ -0,0 +1,179 @@
+package com.dilip.studyplan.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.entity.CompressedText;
+import com.dilip.studyplan.util.BoundedTtlCache;
+import com.dilip.studyplan.util.Fingerprints;
+
+/**
+ * Content-addressed plan bodies: each distinct plan text is stored once
+ * (compressed) in {@code plan_content} under its SHA-256 and reference-counted
+ * by the study plans that point at it. Offline fallback plans for the same topic
+ * and days are byte-identical, so most of them share one row.
+ *
+ * Reference changes join the caller's transaction; bodies are immutable, so
+ * reads are cached by hash without invalidation.
+ */
+@Service
+public class PlanContentStore {
+
+    // Parameters: hash, body, count, created_at; the count is added to an existing row's ref_count.
+    // VALUES() rather than a row alias so MySQL 5.7 and H2's MySQL mode accept it too
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO plan_content (hash, body, ref_count, created_at) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE ref_count = ref_count + VALUES(ref_count)";
+    // H2 outside MySQL mode: MERGE checks before it inserts, so a concurrent insert can still collide
+    private static final String MERGE_UPSERT =
+            "MERGE INTO plan_content c USING (VALUES (CAST(? AS VARCHAR(64)), CAST(? AS BLOB), "
+                    + "CAST(? AS BIGINT), CAST(? AS TIMESTAMP(6)))) s (hash, body, ref_count, created_at) "
+                    + "ON c.hash = s.hash "
+                    + "WHEN MATCHED THEN UPDATE SET ref_count = c.ref_count + s.ref_count "
+                    + "WHEN NOT MATCHED THEN INSERT (hash, body, ref_count, created_at) "
+                    + "VALUES (s.hash, s.body, s.ref_count, s.created_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoundedTtlCache<String, String> bodies;
+    private volatile String upsertSql; // Chosen by database on first use
+
+    public PlanContentStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${plans.content-cache.max-entries:1000}") int cacheMaxEntries,
+            @Value("${plans.content-cache.ttl-minutes:60}") long cacheTtlMinutes,
+            @Value("${plans.content-cache.max-chars:20000000}") long cacheMaxChars
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bodies = new BoundedTtlCache<>(
+                cacheMaxEntries,
+                Duration.ofMinutes(cacheTtlMinutes),
+                cacheMaxChars,
+                String::length
+        );
+    }
+
+    public static String hashOf(String text) {
+        return Fingerprints.sha256(text);
+    }
+
+    /**
+     * Plan text of a row selecting {@code body} (joined from plan_content) and the legacy {@code plan} / {@code plan_data}
+     */
+    public static String planText(ResultSet rs) throws SQLException {
+        byte[] body = rs.getBytes("body");
+        if (body != null) {
+            return CompressedText.decode(body);
+        }
+        byte[] planData = rs.getBytes("plan_data");
+        return planData != null ? CompressedText.decode(planData) : rs.getString("plan");
+    }
+
+    /**
+     * Add one reference per text, storing bodies not seen before; returns the hashes aligned with {@code texts}
+     */
+    public List<String> addReferences(List<String> texts) {
+        List<String> hashes = new ArrayList<>(texts.size());
+        Map<String, String> textByHash = new LinkedHashMap<>();
+        Map<String, Integer> countByHash = new LinkedHashMap<>();
+        for (String text : texts) {
+            String hash = hashOf(text);
+            hashes.add(hash);
+            textByHash.putIfAbsent(hash, text);
+            countByHash.merge(hash, 1, Integer::sum);
+        }
+
+        // 1. Bump existing bodies (no body sent), 2. upsert the ones that were not there: another
+        // transaction may be inserting the same new body, and then this one adds to its count instead
+        // of failing on the key. Updates run one per distinct hash: batched update counts are not
+        // reliable with rewritten batches
+        List<Object[]> upserts = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<String, Integer> entry : countByHash.entrySet()) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE plan_content SET ref_count = ref_count + ? WHERE hash = ?", entry.getValue(), entry.getKey());
+            if (updated == 0) {
+                String text = textByHash.get(entry.getKey());
+                upserts.add(new Object[] {entry.getKey(), CompressedText.encode(text), entry.getValue(), now});
+            }
+        }
+        if (upserts.isEmpty()) {
+            return hashes;
+        }
+        String sql = upsertSql();
+        if (sql == MYSQL_UPSERT) {
+            jdbcTemplate.batchUpdate(sql, upserts);
+            return hashes;
+        }
+        for (Object[] row : upserts) {
+            try {
+                jdbcTemplate.update(sql, row);
+            } catch (DuplicateKeyException e) {
+                // Lost a MERGE race; the other row is committed by now, so this run updates it
+                jdbcTemplate.update(sql, row);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Insert a body, or add to its count if it is there by now: one atomic statement either way
+     */
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            boolean mysql = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                if ("MySQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return true;
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(
+                             "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'MODE'")) {
+                    return rs.next() && "MySQL".equalsIgnoreCase(rs.getString(1));
+                }
+            }));
+            sql = mysql ? MYSQL_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Drop one reference and delete the body once nothing points at it
+     */
+    public void release(String hash) {
+        jdbcTemplate.update("UPDATE plan_content SET ref_count = ref_count - 1 WHERE hash = ?", hash);
+        jdbcTemplate.update("DELETE FROM plan_content WHERE hash = ? AND ref_count <= 0", hash);
+    }
+
+    /**
+     * Plan text for a hash, or null if no such body exists
+     */
+    public String body(String hash) {
+        String cached = bodies.get(hash);
+        if (cached != null) {
+            return cached;
+        }
+        List<byte[]> rows = jdbcTemplate.query(
+                "SELECT body FROM plan_content WHERE hash = ?", (rs, rowNum) -> rs.getBytes("body"), hash);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        String text = CompressedText.decode(rows.get(0));
+        bodies.put(hash, text);
+        return text;
+    }
+}
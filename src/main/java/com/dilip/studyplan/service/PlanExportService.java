@@ -0,0 +1,217 @@
+package com.dilip.studyplan.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.dilip.studyplan.exception.InvalidRequestException;
+
+/**
+ * Streams every study plan (hot table, then archive) as NDJSON or CSV, optionally gzipped.
+ *
+ * Rows are read through a forward-only, read-only cursor with a bounded fetch size
+ * and written to the output as they arrive, so memory stays flat however many plans
+ * there are. Runs in a read-only transaction, so it reads from the replica when one
+ * is configured. Plans still in the write-behind buffer are not included yet.
+ */
+@Service
+public class PlanExportService {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    // Both tables in primary-key order (no sort); bodies come from plan_content or the legacy columns
+    private static final String PLANS_SQL =
+            "SELECT p.id, p.topic, p.generated_at, FALSE AS archived, c.body, p.plan, p.plan_data FROM study_plan p "
+                    + "LEFT JOIN plan_content c ON c.hash = p.content_hash";
+    private static final String ARCHIVE_SQL =
+            "SELECT a.id, a.topic, a.generated_at, TRUE AS archived, c.body, NULL AS plan, NULL AS plan_data "
+                    + "FROM study_plan_archive a LEFT JOIN plan_content c ON c.hash = a.content_hash";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new InvalidRequestException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public PlanExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${plans.export.fetch-size:500}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Reject a bad date range before any output is written (afterwards a 400 can no longer be sent)
+     */
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("Export range is empty: from " + from + " is after to " + to);
+        }
+    }
+
+    /**
+     * Write plans generated between {@code from} and {@code to} (inclusive days, either may be null)
+     * to {@code out}; the stream is finished but not closed
+     */
+    public void export(Format format, LocalDate from, LocalDate to, boolean gzip, OutputStream out) throws IOException {
+        validateRange(from, to);
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_BYTES) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_BYTES);
+
+        if (format == Format.CSV) {
+            writer.write("id,topic,generated_at,archived,plan\n");
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                streamTable(PLANS_SQL, "p", from, to, format, writer);
+                streamTable(ARCHIVE_SQL, "a", from, to, format, writer);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Client went away mid-export
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private void streamTable(String select, String alias, LocalDate from, LocalDate to, Format format, Writer writer) {
+        StringBuilder sql = new StringBuilder(select);
+        List<Object> params = new ArrayList<>(2);
+        if (from != null) {
+            sql.append(params.isEmpty() ? " WHERE " : " AND ").append(alias).append(".generated_at >= ?");
+            params.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(params.isEmpty() ? " WHERE " : " AND ").append(alias).append(".generated_at < ?");
+            params.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY ").append(alias).append(".id");
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    // Connector/J buffers the whole result unless the fetch size is MIN_VALUE (row streaming)
+                    boolean mySql = connection.getMetaData().getDriverName().startsWith("MySQL");
+                    statement.setFetchSize(mySql ? Integer.MIN_VALUE : fetchSize);
+                    for (int i = 0; i < params.size(); i++) {
+                        statement.setObject(i + 1, params.get(i));
+                    }
+                    return statement;
+                },
+                rs -> {
+                    Timestamp generatedAt = rs.getTimestamp("generated_at");
+                    writeRow(format, writer,
+                            rs.getLong("id"),
+                            rs.getString("topic"),
+                            generatedAt != null ? generatedAt.toLocalDateTime() : null,
+                            rs.getBoolean("archived"),
+                            PlanContentStore.planText(rs));
+                });
+    }
+
+    private void writeRow(Format format, Writer writer, long id, String topic, LocalDateTime generatedAt,
+                          boolean archived, String plan) {
+        try {
+            if (format == Format.NDJSON) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", id);
+                row.put("topic", topic);
+                row.put("generatedAt", generatedAt != null ? generatedAt.toString() : null);
+                row.put("archived", archived);
+                row.put("plan", plan);
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            } else {
+                writer.write(Long.toString(id));
+                writer.write(',');
+                writer.write(csvField(topic));
+                writer.write(',');
+                writer.write(generatedAt != null ? generatedAt.toString() : "");
+                writer.write(',');
+                writer.write(Boolean.toString(archived));
+                writer.write(',');
+                writer.write(csvField(plan));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * RFC 4180 field: quoted when it holds a comma, quote or line break, with quotes doubled
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.dilip.studyplan.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves study plans older than the retention age from {@code study_plan} into
+ * {@code study_plan_archive}, so the hot table only holds recent history.
+ *
+ * Each batch is one short transaction touching rows by primary key, and the job
+ * pauses between batches and caps the batches per run, so it never holds locks
+ * long enough to stall live inserts or history reads. Rows whose body has not been
+ * moved to plan_content yet are left for a later run.
+ */
+@Service
+public class PlanRetentionJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long maxAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+
+    public PlanRetentionJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${plans.retention.enabled:true}") boolean enabled,
+            @Value("${plans.retention.max-age-days:365}") long maxAgeDays,
+            @Value("${plans.retention.batch-size:200}") int batchSize,
+            @Value("${plans.retention.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${plans.retention.pause-ms:500}") long pauseMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${plans.retention.interval-ms:3600000}",
+            initialDelayString = "${plans.retention.initial-delay-ms:60000}")
+    public void archiveExpiredPlans() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        int archived = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = archiveBatch(cutoff);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis); // Give live traffic the table back between batches
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Study plan archival failed, will retry next run: " + e.getMessage());
+        }
+        if (archived > 0) {
+            System.err.println("Archived " + archived + " study plans older than " + maxAgeDays + " days");
+        }
+    }
+
+    /**
+     * Archive up to one batch of plans generated before {@code cutoff}; returns how many were moved
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        // Oldest first along the history index; no locks are taken by this read
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM study_plan WHERE generated_at < ? AND content_hash IS NOT NULL "
+                        + "ORDER BY generated_at, id LIMIT ?",
+                Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> archiveRows = ids.stream().map(id -> new Object[] {now, id}).toList();
+        List<Object[]> deleteRows = ids.stream().map(id -> new Object[] {id}).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            // The body reference moves with the row, so plan_content ref counts are unchanged
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO study_plan_archive (id, topic, content_hash, generated_at, archived_at) "
+                            + "SELECT id, topic, content_hash, generated_at, ? FROM study_plan WHERE id = ?",
+                    archiveRows);
+            jdbcTemplate.batchUpdate("DELETE FROM study_plan WHERE id = ?", deleteRows);
+        });
+        return ids.size();
+    }
+}
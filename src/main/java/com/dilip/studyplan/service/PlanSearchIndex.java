@@ -0,0 +1,248 @@
+package com.dilip.studyplan.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.exception.InvalidRequestException;
+import com.dilip.studyplan.search.Bm25Index;
+import com.dilip.studyplan.search.SearchTerms;
+import com.dilip.studyplan.skill.TokenizedText;
+
+/**
+ * In-process full-text index over study plan topics and bodies.
+ *
+ * Rebuilt in the background at startup from {@code study_plan} and
+ * {@code study_plan_archive} (newest first, up to {@code plans.search.max-documents}),
+ * then kept current by {@link PlanWriteBehind}: plans are indexed when saved and
+ * removed when deleted. The cap holds for live saves too: once it is reached the
+ * oldest indexed plan (lowest id) makes room for the new one, and the index reports
+ * itself {@link #isPartial() partial}. Postings are var-int compressed (about 1 KB of
+ * heap per plan), so the default cap of a million plans fits in about 1 GB. Removed
+ * plans are compacted out in the background once they are a noticeable share. Queries
+ * are BM25-ranked over the posting lists of their terms only; a term ending in '*'
+ * matches every indexed term with that prefix.
+ */
+@Service
+public class PlanSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Newest first by id; bodies come from plan_content, or the row itself before migration
+    private static final String PLANS_SQL =
+            "SELECT p.id, p.topic, c.body, p.plan, p.plan_data FROM study_plan p "
+                    + "LEFT JOIN plan_content c ON c.hash = p.content_hash "
+                    + "WHERE p.id < ? ORDER BY p.id DESC LIMIT ?";
+    private static final String ARCHIVE_SQL =
+            "SELECT a.id, a.topic, c.body, NULL AS plan, NULL AS plan_data FROM study_plan_archive a "
+                    + "LEFT JOIN plan_content c ON c.hash = a.content_hash "
+                    + "WHERE a.id < ? ORDER BY a.id DESC LIMIT ?";
+
+    private final Bm25Index index = new Bm25Index();
+    private final NavigableSet<Long> indexedIds = new ConcurrentSkipListSet<>(); // Oldest first, for the cap
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor analysisExecutor;
+    private final int maxDocuments;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final double compactRatio;
+
+    // Deletes seen while a rebuild runs; the rebuild may have read those rows before they went
+    private final Set<String> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean partial; // Some stored plans are not indexed because of the cap
+
+    public PlanSearchIndex(
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("analysisExecutor") Executor analysisExecutor,
+            @Value("${plans.search.max-documents:1000000}") int maxDocuments,
+            @Value("${plans.search.default-limit:20}") int defaultLimit,
+            @Value("${plans.search.max-limit:100}") int maxLimit,
+            @Value("${plans.search.compact-ratio:0.2}") double compactRatio
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analysisExecutor = analysisExecutor;
+        this.maxDocuments = maxDocuments;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.compactRatio = compactRatio;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        // Searches work (over what is indexed so far) while this runs
+        analysisExecutor.execute(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                int indexed = rebuild();
+                System.err.println("Indexed " + indexed + " study plans for search in "
+                        + (System.currentTimeMillis() - started) + " ms");
+            } catch (Exception e) {
+                System.err.println("Study plan search index rebuild failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Index stored plans, newest first, until the document cap; returns how many were read
+     */
+    int rebuild() {
+        rebuilding = true;
+        try {
+            int indexed = indexTable(PLANS_SQL, 0);
+            indexed = indexTable(ARCHIVE_SQL, indexed); // Archived plans are the oldest
+            if (indexed >= maxDocuments && storedPlans() > maxDocuments) {
+                partial = true;
+            }
+            for (String key : removedDuringRebuild) {
+                indexedIds.remove(Long.valueOf(key));
+                index.remove(key);
+            }
+            return indexed;
+        } finally {
+            rebuilding = false;
+            removedDuringRebuild.clear();
+        }
+    }
+
+    /**
+     * Index a plan under its id, evicting the oldest plans past the cap; a plan that is
+     * already indexed is left as it is
+     */
+    public void index(Long id, String topic, String plan) {
+        if (id == null) {
+            return;
+        }
+        if (indexedIds.size() >= maxDocuments && id < indexedIds.first()) {
+            partial = true;
+            return; // Older than everything kept (e.g. the end of a rebuild)
+        }
+        index.add(Long.toString(id), termsOf(topic, plan));
+        indexedIds.add(id);
+        while (indexedIds.size() > maxDocuments) {
+            Long oldest = indexedIds.pollFirst();
+            if (oldest != null) {
+                index.remove(Long.toString(oldest));
+                partial = true;
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        String key = Long.toString(id);
+        if (rebuilding) {
+            removedDuringRebuild.add(key);
+        }
+        indexedIds.remove(id);
+        index.remove(key);
+    }
+
+    /**
+     * Drop removed and evicted plans from the postings once they pass the configured share
+     */
+    @Scheduled(fixedDelayString = "${plans.search.compact-interval-ms:300000}",
+            initialDelayString = "${plans.search.compact-interval-ms:300000}")
+    public void compactIfNeeded() {
+        int removed = index.removedCount();
+        if (removed == 0 || removed < compactRatio * (index.size() + removed)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        index.compact();
+        System.err.println("Compacted " + removed + " removed study plans out of the search index in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * True once stored plans have been left out (or evicted) because of {@code plans.search.max-documents}:
+     * searches then only cover the newest plans
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Best matching plans for a free-text query, best first. Words ending in '*' are prefixes
+     */
+    public List<Bm25Index.Hit> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query is required");
+        }
+        List<String> terms = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            TokenizedText tokens = TokenizedText.of(prefix ? word.substring(0, word.length() - 1) : word);
+            if (prefix && tokens.size() > 0) {
+                // "spring-bo*": full terms up to the last one, which is the prefix
+                for (int i = 0; i < tokens.size() - 1; i++) {
+                    terms.add(tokens.term(i));
+                }
+                prefixes.add(tokens.term(tokens.size() - 1));
+            } else {
+                terms.addAll(SearchTerms.of(tokens));
+            }
+        }
+        if (terms.isEmpty() && prefixes.isEmpty()) {
+            throw new InvalidRequestException("Search query has no searchable words: " + query);
+        }
+
+        int topK = limit != null && limit > 0 ? Math.min(limit, maxLimit) : defaultLimit;
+        return index.search(index.compile(terms, prefixes), topK);
+    }
+
+    private long storedPlans() {
+        Long hot = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM study_plan", Long.class);
+        Long archived = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM study_plan_archive", Long.class);
+        return (hot != null ? hot : 0) + (archived != null ? archived : 0);
+    }
+
+    private int indexTable(String sql, int alreadyIndexed) {
+        int indexed = alreadyIndexed;
+        long beforeId = Long.MAX_VALUE;
+        while (indexed < maxDocuments) {
+            int batch = Math.min(REBUILD_BATCH_SIZE, maxDocuments - indexed);
+            List<Long> ids = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                long id = rs.getLong("id");
+                index(id, rs.getString("topic"), PlanContentStore.planText(rs));
+                return id;
+            }, beforeId, batch);
+            indexed += ids.size();
+            if (ids.size() < batch) {
+                break;
+            }
+            beforeId = ids.get(ids.size() - 1);
+        }
+        return indexed;
+    }
+
+    /**
+     * Index terms of a plan; topic terms are counted twice so a topic match outranks a passing mention
+     */
+    private static List<String> termsOf(String topic, String plan) {
+        List<String> topicTerms = SearchTerms.of(TokenizedText.of(topic));
+        List<String> terms = new ArrayList<>(SearchTerms.of(TokenizedText.of(plan)));
+        terms.addAll(topicTerms);
+        terms.addAll(topicTerms);
+        return terms;
+    }
+}
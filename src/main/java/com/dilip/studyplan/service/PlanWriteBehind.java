@@ -0,0 +1,334 @@
+package com.dilip.studyplan.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dilip.studyplan.config.WriteStickiness;
+import com.dilip.studyplan.entity.StudyPlan;
+import com.dilip.studyplan.repository.PlanIdAllocator;
+
+/**
+ * Write-behind persistence for new study plans.
+ *
+ * {@link #save} assigns the id from {@link PlanIdAllocator} and returns at once;
+ * a scheduled flush writes buffered plans with JDBC batch inserts, storing
+ * plan bodies through {@link PlanContentStore} on the flush thread. Until a plan is flushed it stays readable through
+ * {@link #pending}, and it is searchable through {@link PlanSearchIndex} as soon as
+ * it is saved. When the buffer is full, or write-behind is disabled, the plan
+ * is written synchronously by the caller instead.
+ *
+ * A batch that fails on a transient error (connection lost, lock timeout) goes back
+ * to the head of the queue and is retried on later flushes with exponential backoff,
+ * so a database outage delays plans but does not lose them. Only a row the database
+ * rejects outright (e.g. a constraint violation) is dropped.
+ */
+@Service
+public class PlanWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanWriteBehind.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO study_plan (id, topic, content_hash, generated_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlanIdAllocator idAllocator;
+    private final PlanContentStore contentStore;
+    private final WriteStickiness stickiness;
+    private final PlanSearchIndex searchIndex;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final BlockingQueue<StudyPlan> buffer;
+    private final Map<Long, StudyPlan> pending = new ConcurrentHashMap<>();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Plans of a failed batch, written before the buffer; guarded by the flush lock
+    private final Deque<StudyPlan> retries = new ArrayDeque<>();
+    private int consecutiveFailures;
+    private long retryAt;
+
+    public PlanWriteBehind(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PlanIdAllocator idAllocator,
+            PlanContentStore contentStore,
+            WriteStickiness stickiness,
+            PlanSearchIndex searchIndex,
+            @Value("${plans.write-behind.enabled:true}") boolean enabled,
+            @Value("${plans.write-behind.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${plans.write-behind.batch-size:100}") int batchSize,
+            @Value("${plans.write-behind.retry-initial-backoff-ms:200}") long initialBackoffMillis,
+            @Value("${plans.write-behind.retry-max-backoff-ms:30000}") long maxBackoffMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.contentStore = contentStore;
+        this.stickiness = stickiness;
+        this.searchIndex = searchIndex;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    /** Told about plans saved through, or dropped by, the write-behind path. */
+    public interface Listener {
+
+        /** A plan got its id and is about to be written */
+        default void saved(Long id) {
+        }
+
+        /** A saved plan was dropped because the database rejected it; it will never be readable */
+        default void dropped(Long id) {
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Assign an id and queue the plan for insertion; returns the same entity with its id set
+     */
+    public StudyPlan save(StudyPlan plan) {
+        plan.setId(idAllocator.next());
+        stickiness.markWrite(); // This client reads from the primary until the replica catches up
+        listeners.forEach(listener -> listener.saved(plan.getId()));
+        searchIndex.index(plan.getId(), plan.getTopic(), plan.getPlan());
+        if (!enabled) {
+            insertBatch(List.of(plan));
+            return plan;
+        }
+        pending.put(plan.getId(), plan);
+        if (!buffer.offer(plan)) {
+            // Buffer full - write this one ourselves rather than block or drop it
+            pending.remove(plan.getId());
+            insertBatch(List.of(plan));
+        }
+        return plan;
+    }
+
+    /**
+     * A saved plan that has not been flushed yet
+     */
+    public Optional<StudyPlan> pending(Long id) {
+        return id != null ? Optional.ofNullable(pending.get(id)) : Optional.empty();
+    }
+
+    /**
+     * Unflushed plans, newest first
+     */
+    public List<StudyPlan> pendingNewestFirst() {
+        List<StudyPlan> plans = new ArrayList<>(pending.values());
+        plans.sort(Comparator.comparing(StudyPlan::getGeneratedAt)
+                .thenComparing(StudyPlan::getId)
+                .reversed());
+        return plans;
+    }
+
+    /**
+     * Delete a plan whether or not it has been flushed, releasing its plan body
+     */
+    public void delete(Long id) {
+        if (id == null) {
+            return;
+        }
+        stickiness.markWrite();
+        searchIndex.remove(id);
+        StudyPlan plan = pending.remove(id);
+        if (plan != null) {
+            buffer.remove(plan);
+        }
+        deleteRow(id);
+    }
+
+    @Scheduled(fixedDelayString = "${plans.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+        int unwritten = retries.size() + buffer.size();
+        if (unwritten > 0) {
+            log.error("{} study plans could not be written before shutdown and are lost", unwritten);
+        }
+    }
+
+    /**
+     * Number of plans waiting for a retry after a failed batch
+     */
+    public synchronized int retryBacklog() {
+        return retries.size();
+    }
+
+    private synchronized void flush(boolean ignoreBackoff) {
+        if (!ignoreBackoff && System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        List<StudyPlan> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            while (batch.size() < batchSize && !retries.isEmpty()) {
+                batch.add(retries.pollFirst());
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                return;
+            }
+            batch.removeIf(plan -> !pending.containsKey(plan.getId())); // Deleted while waiting for a retry
+            if (!batch.isEmpty() && !write(batch)) {
+                return; // Requeued; the backoff decides when to try again
+            }
+        }
+    }
+
+    /**
+     * Write a batch; false if the database is unavailable and the unwritten plans were requeued
+     */
+    private boolean write(List<StudyPlan> batch) {
+        try {
+            insertBatch(batch);
+            batch.forEach(this::markFlushed);
+            consecutiveFailures = 0;
+            return true;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                requeue(batch, e);
+                return false;
+            }
+            log.warn("Study plan batch insert rejected, writing its {} plans one by one: {}", batch.size(), e.getMessage());
+        }
+        // Rejected: write row by row so one bad plan does not sink the whole batch
+        for (int i = 0; i < batch.size(); i++) {
+            StudyPlan plan = batch.get(i);
+            try {
+                insertBatch(List.of(plan));
+                markFlushed(plan);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    requeue(batch.subList(i, batch.size()), e);
+                    return false;
+                }
+                drop(plan, e);
+            }
+        }
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    private void requeue(List<StudyPlan> plans, RuntimeException cause) {
+        for (int i = plans.size() - 1; i >= 0; i--) {
+            retries.addFirst(plans.get(i));
+        }
+        consecutiveFailures++;
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(consecutiveFailures - 1, 20));
+        retryAt = System.currentTimeMillis() + backoff;
+        log.warn("Study plan write failed ({} in a row), retrying {} plans in {} ms: {}",
+                consecutiveFailures, retries.size(), backoff, cause.getMessage());
+    }
+
+    private void drop(StudyPlan plan, RuntimeException cause) {
+        // The insert's transaction rolled back, so its content reference is already gone with it
+        log.error("Dropping study plan {} rejected by the database: {}", plan.getId(), cause.getMessage());
+        pending.remove(plan.getId());
+        searchIndex.remove(plan.getId());
+        listeners.forEach(listener -> listener.dropped(plan.getId()));
+    }
+
+    /**
+     * Errors worth retrying later: the database or a connection was unavailable, as opposed to
+     * it rejecting the data (constraint violations, bad values), which no retry will fix
+     */
+    static boolean isTransient(RuntimeException e) {
+        if (e instanceof DataAccessResourceFailureException || e instanceof TransactionException) {
+            return true;
+        }
+        return e instanceof DataAccessException && !(e instanceof NonTransientDataAccessException);
+    }
+
+    private void markFlushed(StudyPlan plan) {
+        if (pending.remove(plan.getId()) == null) {
+            // Deleted while its batch was being written
+            deleteRow(plan.getId());
+        }
+    }
+
+    private void insertBatch(List<StudyPlan> plans) {
+        // One transaction per batch: all rows and references or none, so a retry never double counts
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> hashes = contentStore.addReferences(plans.stream()
+                    .map(plan -> plan.getPlan() != null ? plan.getPlan() : "")
+                    .toList());
+            List<Object[]> rows = new ArrayList<>(plans.size());
+            for (int i = 0; i < plans.size(); i++) {
+                StudyPlan plan = plans.get(i);
+                rows.add(new Object[] {
+                        plan.getId(),
+                        plan.getTopic(),
+                        hashes.get(i),
+                        Timestamp.valueOf(plan.getGeneratedAt())
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        });
+    }
+
+    private void deleteRow(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deleteAndRelease("study_plan", id)) {
+                deleteAndRelease("study_plan_archive", id); // Already moved by the retention job
+            }
+        });
+    }
+
+    /**
+     * Delete the row from {@code table} and release its body; false if there was no such row
+     */
+    private boolean deleteAndRelease(String table, Long id) {
+        // Lock the row so concurrent deletes release its body only once
+        List<String> hashes = jdbcTemplate.query(
+                "SELECT content_hash FROM " + table + " WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getString("content_hash"), id);
+        if (hashes.isEmpty()) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ?", id);
+        if (hashes.get(0) != null) {
+            contentStore.release(hashes.get(0));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.dilip.studyplan.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.search.Bm25Index;
+import com.dilip.studyplan.search.SearchTerms;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+
+/**
+ * BM25 relevance of resumes against JDs, using term statistics from every
+ * resume and JD the service has analyzed.
+ */
+@Service
+public class RelevanceService {
+
+    private final Bm25Index index = new Bm25Index();
+    private final int maxDocuments;
+
+    public RelevanceService(@Value("${relevance.index.max-documents:200000}") int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    /**
+     * Add a document to the corpus (once per content fingerprint)
+     */
+    public void index(AnalyzedDocument document) {
+        if (document.isBlank() || index.docId(document.fingerprint()) >= 0) {
+            return;
+        }
+        if (index.size() >= maxDocuments) {
+            return; // Corpus is full; documents are still scored against it
+        }
+        index.add(document.fingerprint(), SearchTerms.of(document.tokens()));
+    }
+
+    /**
+     * Resume relevance to the JD as a percentage of the JD's own BM25 score, or "N/A"
+     */
+    public String relevance(AnalyzedDocument resume, AnalyzedDocument jd) {
+        if (resume.isBlank() || jd.isBlank()) {
+            return "N/A";
+        }
+        index(jd);
+        index(resume);
+
+        Bm25Index.Query query = compile(jd);
+        double best = score(query, jd);
+        if (best <= 0) {
+            return "N/A";
+        }
+        double relevance = 100.0 * Math.min(1.0, score(query, resume) / best);
+        return String.format("%.0f%%", relevance);
+    }
+
+    /**
+     * JD compiled into a BM25 query against the current corpus
+     */
+    public Bm25Index.Query compile(AnalyzedDocument jd) {
+        return index.compile(SearchTerms.of(jd.tokens()));
+    }
+
+    public double score(Bm25Index.Query query, AnalyzedDocument document) {
+        int docId = index.docId(document.fingerprint());
+        return docId >= 0 ? index.score(query, docId) : index.score(query, SearchTerms.of(document.tokens()));
+    }
+}
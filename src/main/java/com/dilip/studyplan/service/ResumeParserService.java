@@ -2,9 +2,16 @@ package com.dilip.studyplan.service;
 
 import org.apache.tika.Tika;
 import org.apache.tika.exception.TikaException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.dilip.studyplan.document.DocumentMemoryBudget;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.ResumeEvidenceExtractor;
+import com.dilip.studyplan.skill.SkillEvidence;
+import com.dilip.studyplan.skill.SkillTaxonomy;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -16,25 +23,44 @@ import java.util.*;
 public class ResumeParserService {
 
     private final Tika tika;
-    
-    // Common technical skills keywords
-    private static final Map<String, List<String>> SKILL_KEYWORDS = createSkillKeywords();
-
-    public ResumeParserService() {
+    private final DocumentMemoryBudget memoryBudget;
+    private final int maxTextChars;
+    private final DocumentAnalysisService documentAnalysis;
+
+    public ResumeParserService(
+            DocumentMemoryBudget memoryBudget,
+            DocumentAnalysisService documentAnalysis,
+            @Value("${documents.max-text-chars:200000}") int maxTextChars
+    ) {
         this.tika = new Tika();
+        // Extraction stops (and truncates) at this many characters
+        this.tika.setMaxStringLength(maxTextChars);
+        this.memoryBudget = memoryBudget;
+        this.maxTextChars = maxTextChars;
+        this.documentAnalysis = documentAnalysis;
     }
 
     /**
-     * Extract text content from uploaded resume file
+     * Extract text content from uploaded resume file.
+     *
+     * The upload is spooled to disk by the servlet container and streamed into
+     * Tika from there; the file size plus the extracted text is reserved against
+     * the global document memory budget while parsing. The budget covers the
+     * parse only: the returned text (at most {@code documents.max-text-chars})
+     * is no longer counted, and once stored it is bounded by the document store.
      */
     public String extractTextFromResume(MultipartFile file) throws IOException, TikaException {
         if (file == null || file.isEmpty()) {
             return "";
         }
 
+        long worstCaseBytes = file.getSize() + 2L * maxTextChars; // UTF-16 chars
+        DocumentMemoryBudget.Reservation reservation = memoryBudget.reserve(worstCaseBytes);
         try (InputStream inputStream = file.getInputStream()) {
             String text = tika.parseToString(inputStream);
             return text != null ? text : "";
+        } finally {
+            reservation.close();
         }
     }
 
@@ -47,6 +73,7 @@ public class ResumeParserService {
         }
 
         Map<String, Integer> skills = new HashMap<>();
+        AnalyzedDocument resume = documentAnalysis.analyze(resumeText);
 
         // Try AI extraction first
         try {
@@ -57,15 +84,21 @@ public class ResumeParserService {
 
             String aiResponse = aiClient.extractSkills(prompt);
             if (aiResponse != null && !aiResponse.isBlank()) {
-                String[] extractedSkills = aiResponse.split(",");
-                for (String skill : extractedSkills) {
-                    String normalized = normalizeSkillName(skill.trim());
+                SkillTaxonomy taxonomy = resume.taxonomy();
+                Map<String, List<String>> phrasesBySkill = new LinkedHashMap<>();
+                for (String skill : aiResponse.split(",")) {
+                    String normalized = taxonomy.normalize(skill);
                     if (!normalized.isEmpty()) {
-                        // Infer skill level based on context (mentions, years of experience, etc.)
-                        int level = inferSkillLevelFromResume(resumeText, normalized);
-                        skills.put(normalized, level);
+                        phrasesBySkill.put(normalized, phrasesFor(taxonomy, normalized));
                     }
                 }
+
+                // Infer skill levels from context (mentions, years of experience, sections, etc.) in one pass
+                Map<String, SkillEvidence> evidence =
+                        ResumeEvidenceExtractor.extract(resume.tokens(), phrasesBySkill);
+                for (Map.Entry<String, SkillEvidence> entry : evidence.entrySet()) {
+                    skills.put(entry.getKey(), entry.getValue().inferLevel());
+                }
             }
         } catch (Exception e) {
             // Fallback to keyword matching
@@ -73,101 +106,37 @@ public class ResumeParserService {
 
         // Fallback: keyword-based extraction
         if (skills.isEmpty()) {
-            skills = extractSkillsByKeywords(resumeText);
+            skills = extractSkillsByKeywords(resume);
         }
 
         return skills;
     }
 
     /**
-     * Infer skill level from resume text (mentions, years, projects, etc.)
+     * Phrases that count as a mention of the skill: its name plus known aliases and keywords
      */
-    private int inferSkillLevelFromResume(String resumeText, String skill) {
-        String lowerText = resumeText.toLowerCase();
-        String lowerSkill = skill.toLowerCase();
-
-        // Count mentions
-        long mentions = lowerText.split(lowerSkill).length - 1;
-
-        // Check for experience indicators
-        boolean hasYears = lowerText.contains("years") && lowerText.contains(lowerSkill);
-        boolean hasProjects = lowerText.contains("project") && lowerText.contains(lowerSkill);
-        boolean hasCertification = lowerText.contains("certified") || lowerText.contains("certification");
-
-        // Simple heuristic
-        if (hasYears || mentions > 5) {
-            return 4; // Experienced
-        } else if (hasProjects || mentions > 2) {
-            return 3; // Intermediate
-        } else if (mentions > 0 || hasCertification) {
-            return 2; // Basic
+    private List<String> phrasesFor(SkillTaxonomy taxonomy, String skill) {
+        List<String> known = taxonomy.phrases(skill);
+        if (known.contains(skill)) {
+            return known;
         }
-
-        return 1; // Mentioned but minimal
+        List<String> phrases = new ArrayList<>(known.size() + 1);
+        phrases.add(skill);
+        phrases.addAll(known);
+        return phrases;
     }
 
     /**
      * Extract skills using keyword matching
      */
-    private Map<String, Integer> extractSkillsByKeywords(String resumeText) {
+    private Map<String, Integer> extractSkillsByKeywords(AnalyzedDocument resume) {
         Map<String, Integer> skills = new HashMap<>();
-        String lowerText = resumeText.toLowerCase();
-
-        for (Map.Entry<String, List<String>> entry : SKILL_KEYWORDS.entrySet()) {
-            String skill = entry.getKey();
-            for (String keyword : entry.getValue()) {
-                if (lowerText.contains(keyword.toLowerCase())) {
-                    int level = inferSkillLevelFromResume(resumeText, skill);
-                    skills.put(skill, Math.max(skills.getOrDefault(skill, 0), level));
-                    break;
-                }
-            }
-        }
 
-        return skills;
-    }
-
-    /**
-     * Normalize skill name
-     */
-    private String normalizeSkillName(String skill) {
-        if (skill == null || skill.trim().isEmpty()) {
-            return "";
+        // Evidence was collected for every found skill while analyzing the document
+        for (String skill : resume.foundSkills()) {
+            skills.put(skill, resume.evidence(skill).inferLevel());
         }
-        String normalized = skill.trim();
-        if (normalized.isEmpty()) return "";
-        
-        normalized = normalized.substring(0, 1).toUpperCase() + 
-                     normalized.substring(1).toLowerCase();
-
-        // Check if it matches any known skill
-        for (String knownSkill : SKILL_KEYWORDS.keySet()) {
-            if (knownSkill.equalsIgnoreCase(normalized)) {
-                return knownSkill;
-            }
-        }
-
-        return normalized;
-    }
 
-    private static Map<String, List<String>> createSkillKeywords() {
-        Map<String, List<String>> map = new HashMap<>();
-        map.put("Java", List.of("java", "j2ee", "j2se", "core java", "java ee"));
-        map.put("Spring Boot", List.of("spring boot", "spring", "spring framework", "spring mvc", "spring cloud"));
-        map.put("SQL", List.of("sql", "database", "mysql", "postgresql", "oracle", "db", "rdbms"));
-        map.put("REST API", List.of("rest", "rest api", "restful", "api", "web services", "microservices"));
-        map.put("Docker", List.of("docker", "containers", "containerization", "dockerfile"));
-        map.put("AWS", List.of("aws", "amazon web services", "cloud", "ec2", "s3", "lambda", "rds"));
-        map.put("DSA", List.of("dsa", "data structures", "algorithms", "algorithm", "leetcode", "competitive programming"));
-        map.put("System Design", List.of("system design", "distributed systems", "architecture", "microservices architecture"));
-        map.put("JavaScript", List.of("javascript", "js", "ecmascript", "node.js", "nodejs", "es6"));
-        map.put("React", List.of("react", "reactjs", "react.js", "react native"));
-        map.put("Python", List.of("python", "django", "flask", "fastapi", "pandas", "numpy"));
-        map.put("Git", List.of("git", "github", "version control", "gitlab", "bitbucket"));
-        map.put("Maven", List.of("maven", "mvn", "build tool"));
-        map.put("Kubernetes", List.of("kubernetes", "k8s", "container orchestration"));
-        map.put("MongoDB", List.of("mongodb", "nosql", "document database"));
-        map.put("Redis", List.of("redis", "cache", "caching"));
-        return map;
+        return skills;
     }
 }
@@ -1,59 +1,118 @@
 package com.dilip.studyplan.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.dilip.studyplan.ats.AtsInput;
+import com.dilip.studyplan.ats.AtsScore;
+import com.dilip.studyplan.ats.AtsScoringEngine;
 import com.dilip.studyplan.client.AIClient;
+import com.dilip.studyplan.document.DocumentStore;
+import com.dilip.studyplan.document.StoredDocument;
 import com.dilip.studyplan.dto.GapAnalysisResponse;
 import com.dilip.studyplan.dto.GoalRequest;
 import com.dilip.studyplan.dto.SkillGap;
 import com.dilip.studyplan.dto.StudyPlanResponse;
 import com.dilip.studyplan.entity.StudyPlan;
-import com.dilip.studyplan.repository.StudyPlanRepository;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillIds;
+import com.dilip.studyplan.skill.SkillVector;
+import com.dilip.studyplan.skill.SkillTaxonomy;
+import com.dilip.studyplan.util.BoundedTtlCache;
 
 @Service
 public class SkillGapService {
 
     private final AIClient aiClient;
-    private final StudyPlanRepository repository;
+    private final PlanWriteBehind planWriter;
+    private final DocumentStore documentStore;
+    private final DocumentAnalysisService documentAnalysis;
+    private final AtsScoringEngine atsScoringEngine;
+    private final RelevanceService relevanceService;
+    private final JobMatchService jobMatchService;
+    private final SkillIds skillIds;
+    private final Executor analysisExecutor;
+    private final long prefetchWaitSeconds;
+
+    // Speculative extraction started at upload time, keyed by document id
+    private final BoundedTtlCache<String, CompletableFuture<List<String>>> prefetchedRequiredSkills;
+    private final BoundedTtlCache<String, CompletableFuture<Map<String, Integer>>> prefetchedResumeSkills;
+
+    // Finished extraction results keyed by content fingerprint
+    private final BoundedTtlCache<String, List<String>> requiredSkillsByFingerprint;
+    private final BoundedTtlCache<String, Map<String, Integer>> resumeSkillsByFingerprint;
+
+    // Document-only stages of a gap analysis keyed by JD + resume fingerprint, so
+    // changing self ratings or days only reruns the merge, gap and score stages
+    private final BoundedTtlCache<String, DocumentStage> documentStages;
+
+    // Placeholder when no skills can be extracted from a JD
+    private static final String GENERAL_SKILLS = "General Skills";
 
     private static final DateTimeFormatter DISPLAY_FORMATTER =
             DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm");
 
-    // Common tech skills mapping
-    private static final Map<String, List<String>> SKILL_SYNONYMS = createSkillSynonymsMap();
-
-    private static Map<String, List<String>> createSkillSynonymsMap() {
-        Map<String, List<String>> map = new HashMap<>();
-        map.put("Java", List.of("java", "j2ee", "j2se", "core java"));
-        map.put("Spring Boot", List.of("spring boot", "spring", "spring framework", "spring mvc"));
-        map.put("SQL", List.of("sql", "database", "mysql", "postgresql", "oracle", "db"));
-        map.put("REST API", List.of("rest", "rest api", "restful", "api", "web services"));
-        map.put("Docker", List.of("docker", "containers", "containerization"));
-        map.put("AWS", List.of("aws", "amazon web services", "cloud", "ec2", "s3"));
-        map.put("DSA", List.of("dsa", "data structures", "algorithms", "algorithm", "leetcode"));
-        map.put("System Design", List.of("system design", "distributed systems", "architecture"));
-        map.put("JavaScript", List.of("javascript", "js", "ecmascript", "node.js", "nodejs"));
-        map.put("React", List.of("react", "reactjs", "react.js"));
-        map.put("Python", List.of("python", "django", "flask", "fastapi"));
-        map.put("Git", List.of("git", "github", "version control", "gitlab"));
-        map.put("Maven", List.of("maven", "mvn", "build tool"));
-        return map;
+    public SkillGapService(
+            AIClient aiClient,
+            PlanWriteBehind planWriter,
+            DocumentStore documentStore,
+            DocumentAnalysisService documentAnalysis,
+            AtsScoringEngine atsScoringEngine,
+            RelevanceService relevanceService,
+            JobMatchService jobMatchService,
+            SkillIds skillIds,
+            @Qualifier("analysisExecutor") Executor analysisExecutor,
+            @Value("${analysis.prefetch.max-entries:500}") int prefetchMaxEntries,
+            @Value("${analysis.prefetch.ttl-minutes:60}") long prefetchTtlMinutes,
+            @Value("${analysis.prefetch.wait-seconds:45}") long prefetchWaitSeconds
+    ) {
+        this.aiClient = aiClient;
+        this.planWriter = planWriter;
+        this.documentStore = documentStore;
+        this.documentAnalysis = documentAnalysis;
+        this.atsScoringEngine = atsScoringEngine;
+        this.relevanceService = relevanceService;
+        this.jobMatchService = jobMatchService;
+        this.skillIds = skillIds;
+        this.analysisExecutor = analysisExecutor;
+        this.prefetchWaitSeconds = prefetchWaitSeconds;
+
+        Duration ttl = Duration.ofMinutes(prefetchTtlMinutes);
+        this.prefetchedRequiredSkills = new BoundedTtlCache<>(prefetchMaxEntries, ttl);
+        this.prefetchedResumeSkills = new BoundedTtlCache<>(prefetchMaxEntries, ttl);
+        this.requiredSkillsByFingerprint = new BoundedTtlCache<>(prefetchMaxEntries, ttl);
+        this.resumeSkillsByFingerprint = new BoundedTtlCache<>(prefetchMaxEntries, ttl);
+        this.documentStages = new BoundedTtlCache<>(prefetchMaxEntries, ttl);
     }
 
-    public SkillGapService(AIClient aiClient, StudyPlanRepository repository) {
-        this.aiClient = aiClient;
-        this.repository = repository;
+    /**
+     * Start JD skill extraction in the background as soon as the JD is uploaded
+     */
+    public void prefetchRequiredSkills(StoredDocument jd) {
+        startPrefetch(prefetchedRequiredSkills, jd.getId(), () -> requiredSkillsFor(analyzeAndIndex(jd.getText())));
+    }
+
+    /**
+     * Start resume skill inference in the background as soon as the resume is uploaded
+     */
+    public void prefetchResumeSkills(StoredDocument resume) {
+        startPrefetch(prefetchedResumeSkills, resume.getId(), () -> resumeSkillsFor(analyzeAndIndex(resume.getText())));
     }
 
     /**
@@ -62,9 +121,8 @@ public class SkillGapService {
     public GapAnalysisResponse analyzeGaps(GoalRequest request) {
         try {
             // 1. Extract required skills from JD/target text
-            String jdText = request.getJdText() != null && !request.getJdText().isBlank() 
-                    ? request.getJdText() 
-                    : (request.getTargetText() != null ? request.getTargetText() : "");
+            String jdText = resolveJdText(request);
+            String resumeText = resolveResumeText(request);
             
             if (jdText == null || jdText.isBlank()) {
                 // Return empty response if no JD provided
@@ -72,35 +130,47 @@ public class SkillGapService {
                     new ArrayList<>(), new ArrayList<>(), "0%"
                 );
                 emptyResponse.setAtsScore("N/A");
+                emptyResponse.setRelevanceScore("N/A");
                 emptyResponse.setPrioritizedSkills(new ArrayList<>());
                 return emptyResponse;
             }
-            
-            List<String> requiredSkills = extractRequiredSkills(jdText);
 
-            // 2. Get current skills (from resume + manual input)
-            Map<String, Integer> currentSkills = getCurrentSkills(request);
+            // Each document is tokenized and matched once; every stage below reads the same analysis
+            AnalyzedDocument jd = documentAnalysis.analyze(jdText);
+            AnalyzedDocument resume = documentAnalysis.analyze(resumeText);
+
+            // 1-2. Required skills, resume skills, baseline ATS and relevance depend only on the documents
+            DocumentStage documents = documentStage(request, jd, resume);
+            List<String> requiredSkills = documents.requiredSkills;
+
+            // Merge with self ratings and compare as primitive vectors aligned with the required skills
+            Map<String, Integer> currentSkills = getCurrentSkills(request, documents.resumeSkills);
+            byte[] currentLevels = SkillVector.of(currentSkills, skillIds).levelsFor(documents.requiredIds);
 
             // 3. Identify gaps
-            List<SkillGap> gaps = identifyGaps(requiredSkills, currentSkills);
+            List<SkillGap> gaps = identifyGaps(requiredSkills, currentLevels);
 
             // 4. Calculate readiness score
-            String readinessScore = calculateReadinessScore(gaps);
+            String readinessScore = calculateReadinessScore(currentLevels);
 
-            // 5. Calculate ATS score (resume vs JD matching) - handle errors gracefully
+            // 5. ATS score: token features come from the document stage, only the level feature is refreshed
             String atsScore = "N/A";
             try {
-                atsScore = calculateATSScore(request.getResumeText(), jdText, requiredSkills, currentSkills);
+                atsScore = calculateATSScore(documents, resume, currentLevels);
             } catch (Exception e) {
                 // If ATS calculation fails, just set to N/A
                 atsScore = "N/A";
             }
 
-            // 6. Generate prioritized skills list
+            // 6. BM25 relevance of the resume text to the JD (computed with the document stage)
+            String relevanceScore = documents.relevanceScore;
+
+            // 7. Generate prioritized skills list
             List<String> prioritizedSkills = generatePrioritizedSkills(gaps);
 
             GapAnalysisResponse response = new GapAnalysisResponse(requiredSkills, gaps, readinessScore);
             response.setAtsScore(atsScore);
+            response.setRelevanceScore(relevanceScore);
             response.setPrioritizedSkills(prioritizedSkills);
 
             return response;
@@ -111,16 +181,167 @@ public class SkillGapService {
                 new ArrayList<>(), new ArrayList<>(), "Error"
             );
             errorResponse.setAtsScore("N/A");
+            errorResponse.setRelevanceScore("N/A");
             errorResponse.setPrioritizedSkills(new ArrayList<>());
             return errorResponse;
         }
     }
 
+    /**
+     * Candidate's skill levels from resume (document id or inline text) plus self ratings
+     */
+    public Map<String, Integer> currentSkillsFor(GoalRequest request) {
+        Map<String, Integer> resumeSkills = awaitPrefetch(prefetchedResumeSkills, request.getResumeDocumentId());
+        if (resumeSkills == null) {
+            resumeSkills = resumeSkillsFor(documentAnalysis.analyze(resolveResumeText(request)));
+        }
+        return getCurrentSkills(request, resumeSkills);
+    }
+
+    /**
+     * JD text from the document store, falling back to inline JD / target text
+     */
+    public String resolveJdText(GoalRequest request) {
+        String inlineText = request.getJdText() != null && !request.getJdText().isBlank()
+                ? request.getJdText()
+                : (request.getTargetText() != null ? request.getTargetText() : "");
+        return documentStore.resolveText(request.getJdDocumentId(), inlineText);
+    }
+
+    /**
+     * Resume text from the document store, falling back to inline resume text
+     */
+    public String resolveResumeText(GoalRequest request) {
+        return documentStore.resolveText(request.getResumeDocumentId(), request.getResumeText());
+    }
+
+    /**
+     * Analyze an uploaded document and add it to the relevance corpus
+     */
+    private AnalyzedDocument analyzeAndIndex(String text) {
+        AnalyzedDocument document = documentAnalysis.analyze(text);
+        relevanceService.index(document);
+        return document;
+    }
+
+    /**
+     * The stages of a gap analysis that read only the JD and resume, reused while both
+     * texts and the taxonomy version are unchanged. Only derived values are cached, never
+     * the analyzed documents themselves.
+     */
+    private DocumentStage documentStage(GoalRequest request, AnalyzedDocument jd, AnalyzedDocument resume) {
+        String taxonomyVersion = jd.taxonomy().version();
+        String key = jd.fingerprint() + ":" + resume.fingerprint() + ":" + taxonomyVersion;
+        DocumentStage cached = documentStages.get(key);
+        if (cached != null && resume.taxonomy().version().equals(taxonomyVersion)) {
+            return cached;
+        }
+
+        // Prefer the results started at upload time, if any
+        List<String> requiredSkills = awaitPrefetch(prefetchedRequiredSkills, request.getJdDocumentId());
+        if (requiredSkills == null) {
+            requiredSkills = requiredSkillsFor(jd);
+        }
+        Map<String, Integer> resumeSkills = awaitPrefetch(prefetchedResumeSkills, request.getResumeDocumentId());
+        if (resumeSkills == null) {
+            resumeSkills = resumeSkillsFor(resume);
+        }
+        int[] requiredIds = SkillVector.internAll(requiredSkills, skillIds);
+
+        // Baseline ATS from the resume alone; self ratings only change the level feature
+        AtsScore baselineAts = null;
+        if (!resume.isBlank()) {
+            try {
+                byte[] resumeLevels = SkillVector.of(resumeSkills, skillIds).levelsFor(requiredIds);
+                baselineAts = atsScoringEngine.score(new AtsInput(resume, requiredSkills, resumeLevels));
+            } catch (Exception e) {
+                baselineAts = null;
+            }
+        }
+
+        String relevanceScore = "N/A";
+        try {
+            relevanceScore = relevanceService.relevance(resume, jd);
+        } catch (Exception e) {
+            relevanceScore = "N/A";
+        }
+
+        DocumentStage stage = new DocumentStage(requiredSkills, requiredIds, resumeSkills, baselineAts,
+                relevanceScore);
+        documentStages.put(key, stage);
+        return stage;
+    }
+
+    private <T> void startPrefetch(BoundedTtlCache<String, CompletableFuture<T>> cache, String documentId, Supplier<T> task) {
+        try {
+            cache.put(documentId, CompletableFuture.supplyAsync(task, analysisExecutor));
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated - analyzeGaps will compute the result on demand
+        }
+    }
+
+    /**
+     * Result of a prefetch for this document, or null if none was started or it failed
+     */
+    private <T> T awaitPrefetch(BoundedTtlCache<String, CompletableFuture<T>> cache, String documentId) {
+        if (documentId == null) {
+            return null;
+        }
+        CompletableFuture<T> future = cache.get(documentId);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(prefetchWaitSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            // Timed out or failed - fall back to computing inline
+            return null;
+        }
+    }
+
+    /**
+     * Required skills for a JD, reusing the result for identical JD text
+     */
+    List<String> requiredSkillsFor(AnalyzedDocument jd) {
+        String fingerprint = jd.fingerprint();
+        List<String> cached = requiredSkillsByFingerprint.get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> skills = List.copyOf(extractRequiredSkills(jd));
+        requiredSkillsByFingerprint.put(fingerprint, skills);
+        if (!skills.equals(List.of(GENERAL_SKILLS))) {
+            // Queue the JD for reverse job matching; it is stored in the background
+            jobMatchService.register(jd, skills);
+        }
+        return skills;
+    }
+
+    /**
+     * Skills inferred from a resume, reusing the result for identical resume text
+     */
+    private Map<String, Integer> resumeSkillsFor(AnalyzedDocument resume) {
+        if (resume.isBlank()) {
+            return Map.of();
+        }
+        String fingerprint = resume.fingerprint();
+        Map<String, Integer> cached = resumeSkillsByFingerprint.get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Integer> skills = Map.copyOf(extractSkillsFromResumeText(resume));
+        resumeSkillsByFingerprint.put(fingerprint, skills);
+        return skills;
+    }
+
     /**
      * Extract required skills from JD text
      */
-    private List<String> extractRequiredSkills(String jdText) {
-        if (jdText == null || jdText.isBlank()) {
+    private List<String> extractRequiredSkills(AnalyzedDocument jd) {
+        if (jd.isBlank()) {
             return new ArrayList<>();
         }
 
@@ -128,14 +349,15 @@ public class SkillGapService {
         try {
             String prompt = "Extract technical skills and technologies mentioned in this job description. " +
                     "Return ONLY a comma-separated list of skill names (no explanations). " +
-                    "Normalize common variations (e.g., 'Java' not 'java').\n\n" + jdText;
+                    "Normalize common variations (e.g., 'Java' not 'java').\n\n" + jd.text();
 
             String aiResponse = aiClient.extractSkills(prompt);
             if (aiResponse != null && !aiResponse.isBlank()) {
+                SkillTaxonomy taxonomy = jd.taxonomy();
                 List<String> skills = Arrays.stream(aiResponse.split(","))
                         .map(String::trim)
                         .filter(s -> !s.isEmpty())
-                        .map(this::normalizeSkillName)
+                        .map(taxonomy::normalize)
                         .distinct()
                         .collect(Collectors.toList());
                 if (!skills.isEmpty()) {
@@ -147,10 +369,10 @@ public class SkillGapService {
         }
 
         // Fallback: keyword extraction (always works)
-        List<String> keywordSkills = extractSkillsByKeywords(jdText);
+        List<String> keywordSkills = new ArrayList<>(jd.foundSkills());
         if (keywordSkills.isEmpty()) {
             keywordSkills = new ArrayList<>();
-            keywordSkills.add("General Skills");
+            keywordSkills.add(GENERAL_SKILLS);
         }
         return keywordSkills;
     }
@@ -158,7 +380,7 @@ public class SkillGapService {
     /**
      * Get current skills from resume + manual input
      */
-    private Map<String, Integer> getCurrentSkills(GoalRequest request) {
+    private Map<String, Integer> getCurrentSkills(GoalRequest request, Map<String, Integer> resumeSkills) {
         Map<String, Integer> current = new HashMap<>();
 
         // 1. Manual input takes highest priority
@@ -166,14 +388,10 @@ public class SkillGapService {
             current.putAll(request.getSelfRatings());
         }
 
-        // 2. Extract from resume if provided
-        if (request.getResumeText() != null && !request.getResumeText().isBlank()) {
-            Map<String, Integer> resumeSkills = extractSkillsFromResumeText(request.getResumeText());
-            // Merge resume skills (don't override manual input)
-            for (Map.Entry<String, Integer> entry : resumeSkills.entrySet()) {
-                if (!current.containsKey(entry.getKey())) {
-                    current.put(entry.getKey(), entry.getValue());
-                }
+        // 2. Merge resume skills (don't override manual input)
+        for (Map.Entry<String, Integer> entry : resumeSkills.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                current.put(entry.getKey(), entry.getValue());
             }
         }
 
@@ -183,77 +401,37 @@ public class SkillGapService {
     /**
      * Extract skills from resume text using keyword matching
      */
-    private Map<String, Integer> extractSkillsFromResumeText(String resumeText) {
+    static Map<String, Integer> extractSkillsFromResumeText(AnalyzedDocument resume) {
         Map<String, Integer> skills = new HashMap<>();
-        if (resumeText == null || resumeText.isBlank()) {
-            return skills;
-        }
 
-        String lowerText = resumeText.toLowerCase();
-
-        for (Map.Entry<String, List<String>> entry : SKILL_SYNONYMS.entrySet()) {
-            String skill = entry.getKey();
-            for (String keyword : entry.getValue()) {
-                if (lowerText.contains(keyword.toLowerCase())) {
-                    // Simple level inference based on mentions
-                    long mentions = lowerText.split(keyword.toLowerCase()).length - 1;
-                    int level = mentions > 3 ? 3 : (mentions > 1 ? 2 : 1);
-                    skills.put(skill, Math.max(skills.getOrDefault(skill, 0), level));
-                    break;
-                }
-            }
+        // Hit counts (all synonyms combined) come from the document analysis
+        for (String skill : resume.foundSkills()) {
+            skills.put(skill, levelForMentions(resume.hits(skill)));
         }
 
         return skills;
     }
 
     /**
-     * Extract skills using keyword matching
+     * Simple level inference based on mentions (0 when not mentioned)
      */
-    private List<String> extractSkillsByKeywords(String text) {
-        String lowerText = text.toLowerCase();
-        Set<String> found = new HashSet<>();
-
-        for (Map.Entry<String, List<String>> entry : SKILL_SYNONYMS.entrySet()) {
-            for (String synonym : entry.getValue()) {
-                if (lowerText.contains(synonym.toLowerCase())) {
-                    found.add(entry.getKey());
-                    break;
-                }
-            }
+    static int levelForMentions(int mentions) {
+        if (mentions <= 0) {
+            return 0;
         }
-
-        return new ArrayList<>(found);
+        return mentions > 3 ? 3 : (mentions > 1 ? 2 : 1);
     }
 
     /**
-     * Normalize skill name
+     * Identify gaps between required skills and current levels aligned with them
      */
-    private String normalizeSkillName(String skill) {
-        String trimmed = skill.trim();
-        if (trimmed.isEmpty()) return trimmed;
-
-        final String normalized = trimmed.substring(0, 1).toUpperCase() +
-                trimmed.substring(1).toLowerCase();
+    private List<SkillGap> identifyGaps(List<String> requiredSkills, byte[] currentLevels) {
+        List<SkillGap> gaps = new ArrayList<>(requiredSkills.size());
 
-        for (String knownSkill : SKILL_SYNONYMS.keySet()) {
-            if (knownSkill.equalsIgnoreCase(normalized)) {
-                return knownSkill;
-            }
-        }
-
-        return normalized;
-    }
-
-    /**
-     * Identify gaps between required and current skills
-     */
-    private List<SkillGap> identifyGaps(List<String> requiredSkills, Map<String, Integer> currentSkills) {
-        List<SkillGap> gaps = new ArrayList<>();
-
-        for (String skill : requiredSkills) {
-            int required = 4; // Default required level
-            int current = currentSkills.getOrDefault(skill, 0);
+        for (int i = 0; i < currentLevels.length; i++) {
+            String skill = requiredSkills.get(i);
+            int required = SkillVector.REQUIRED_LEVEL; // Default required level
+            int current = currentLevels[i];
             int gapSize = Math.max(0, required - current);
 
             String priority;
@@ -274,100 +452,20 @@ public class SkillGapService {
     /**
      * Calculate readiness score
      */
-    private String calculateReadinessScore(List<SkillGap> gaps) {
-        if (gaps.isEmpty()) {
-            return "100%";
-        }
-
-        int totalCurrentLevels = gaps.stream().mapToInt(SkillGap::getCurrentLevel).sum();
-        int totalRequiredLevels = gaps.stream().mapToInt(SkillGap::getRequiredLevel).sum();
-
-        if (totalRequiredLevels == 0) {
-            return "100%";
-        }
-
-        double readiness = 100.0 * ((double) totalCurrentLevels / totalRequiredLevels);
-        readiness = Math.max(0, Math.min(100, readiness));
-
-        return String.format("%.0f%%", readiness);
+    private String calculateReadinessScore(byte[] currentLevels) {
+        return String.format("%.0f%%", SkillVector.readiness(currentLevels));
     }
 
     /**
      * Calculate ATS (Applicant Tracking System) score based on resume vs JD matching
-     * Uses industry-standard ATS scoring logic
+     * Uses industry-standard ATS scoring logic; the token pass was done once for the document stage
      */
-    private String calculateATSScore(String resumeText, String jdText, List<String> requiredSkills, Map<String, Integer> currentSkills) {
-        if (resumeText == null || resumeText.isBlank() || jdText == null || jdText.isBlank()) {
+    private String calculateATSScore(DocumentStage documents, AnalyzedDocument resume, byte[] currentLevels) {
+        if (documents.baselineAts == null) {
             return "N/A";
         }
-
-        String resumeLower = resumeText.toLowerCase();
-
-        // ATS scoring factors (industry-standard weights)
-        double score = 0.0;
-
-        // 1. Keyword matching (40% weight) - Most important for ATS
-        int matchedKeywords = 0;
-        int totalKeywords = requiredSkills.size();
-        
-        for (String skill : requiredSkills) {
-            String skillLower = skill.toLowerCase();
-            // Check if skill appears in resume
-            if (resumeLower.contains(skillLower)) {
-                matchedKeywords++;
-            } else {
-                // Check synonyms
-                for (Map.Entry<String, List<String>> entry : SKILL_SYNONYMS.entrySet()) {
-                    if (entry.getKey().equalsIgnoreCase(skill)) {
-                        for (String synonym : entry.getValue()) {
-                            if (resumeLower.contains(synonym.toLowerCase())) {
-                                matchedKeywords++;
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        
-        double keywordScore = totalKeywords > 0 ? (matchedKeywords * 40.0 / totalKeywords) : 0;
-        score += keywordScore;
-
-        // 2. Skill level matching (30% weight) - How well skills match required levels
-        int skillsWithGoodLevel = 0;
-        for (String skill : requiredSkills) {
-            if (currentSkills.containsKey(skill) && currentSkills.get(skill) >= 3) {
-                skillsWithGoodLevel++;
-            }
-        }
-        double levelScore = totalKeywords > 0 ? (skillsWithGoodLevel * 30.0 / totalKeywords) : 0;
-        score += levelScore;
-
-        // 3. Experience indicators (20% weight) - Years, projects, certifications
-        boolean hasYears = resumeLower.contains("year") || resumeLower.contains("experience");
-        boolean hasProjects = resumeLower.contains("project") || resumeLower.contains("developed") || resumeLower.contains("built");
-        boolean hasEducation = resumeLower.contains("education") || resumeLower.contains("degree") || resumeLower.contains("bachelor") || resumeLower.contains("master");
-        
-        double experienceScore = 0;
-        if (hasYears) experienceScore += 7;
-        if (hasProjects) experienceScore += 7;
-        if (hasEducation) experienceScore += 6;
-        score += experienceScore;
-
-        // 4. Format and structure (10% weight) - Professional keywords
-        boolean hasActionVerbs = resumeLower.contains("developed") || resumeLower.contains("implemented") || 
-                                 resumeLower.contains("designed") || resumeLower.contains("managed");
-        boolean hasQuantifiableResults = resumeLower.matches(".*\\d+%.*|.*\\d+\\+.*|.*\\d+ years.*");
-        
-        double formatScore = 0;
-        if (hasActionVerbs) formatScore += 5;
-        if (hasQuantifiableResults) formatScore += 5;
-        score += formatScore;
-
-        // Normalize to 0-100
-        score = Math.max(0, Math.min(100, score));
-
-        return String.format("%.0f%%", score);
+        AtsInput input = new AtsInput(resume, documents.requiredSkills, currentLevels);
+        return atsScoringEngine.rescore(documents.baselineAts, input).toPercent();
     }
 
     /**
@@ -461,7 +559,7 @@ public class SkillGapService {
         entity.setPlan(planContent);
         entity.setGeneratedAt(LocalDateTime.now());
 
-        StudyPlan saved = repository.save(entity);
+        StudyPlan saved = planWriter.save(entity);
 
         return new StudyPlanResponse(
                 saved.getId(),
@@ -470,4 +568,25 @@ public class SkillGapService {
                 saved.getGeneratedAt().format(DISPLAY_FORMATTER)
         );
     }
+
+    /**
+     * Results of the document-only stages of a gap analysis (derived values only, so a
+     * cached stage never keeps an evicted document alive)
+     */
+    private static final class DocumentStage {
+        final List<String> requiredSkills;
+        final int[] requiredIds; // Interned ids aligned with requiredSkills
+        final Map<String, Integer> resumeSkills;
+        final AtsScore baselineAts; // Null when the resume is blank or scoring failed
+        final String relevanceScore;
+
+        DocumentStage(List<String> requiredSkills, int[] requiredIds, Map<String, Integer> resumeSkills,
+                      AtsScore baselineAts, String relevanceScore) {
+            this.requiredSkills = requiredSkills;
+            this.requiredIds = requiredIds;
+            this.resumeSkills = resumeSkills;
+            this.baselineAts = baselineAts;
+            this.relevanceScore = relevanceScore;
+        }
+    }
 }
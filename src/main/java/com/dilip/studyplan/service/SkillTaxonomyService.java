@@ -0,0 +1,104 @@
+package com.dilip.studyplan.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dilip.studyplan.skill.SkillTaxonomy;
+
+/**
+ * Loads the skill taxonomy from a versioned resource file and hot-reloads it
+ * when the file changes. Callers take the current snapshot per operation;
+ * a reload swaps the snapshot atomically without a restart.
+ *
+ * Only a taxonomy on the filesystem is watched: a {@code classpath:} resource
+ * packaged inside the jar cannot change, so it is loaded once.
+ */
+@Service
+public class SkillTaxonomyService {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Resource resource;
+    private final boolean watched;
+    private volatile SkillTaxonomy current;
+    private volatile long loadedLastModified;
+    private volatile long failedLastModified = NONE; // Broken file version, not retried until it changes
+
+    public SkillTaxonomyService(
+            ResourceLoader resourceLoader,
+            @Value("${skills.taxonomy.location:classpath:skills/taxonomy.txt}") String location
+    ) throws IOException {
+        this.resource = resourceLoader.getResource(location);
+        this.watched = resource.isFile();
+        // Fail fast at startup if the taxonomy is missing or malformed
+        this.loadedLastModified = lastModified();
+        this.current = load();
+        if (!watched) {
+            System.err.println("Skill taxonomy " + location + " is not a file; hot reload is off");
+        }
+    }
+
+    public SkillTaxonomy current() {
+        return current;
+    }
+
+    /**
+     * Reload when the file's modification time changes; a broken file keeps the previous
+     * snapshot and is tried again only once it changes again
+     */
+    @Scheduled(fixedDelayString = "${skills.taxonomy.reload-interval-ms:30000}",
+            initialDelayString = "${skills.taxonomy.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!watched) {
+            return;
+        }
+        long modified = lastModified();
+        if (modified == loadedLastModified || modified == failedLastModified) {
+            return;
+        }
+        try {
+            reload();
+            loadedLastModified = modified;
+            failedLastModified = NONE;
+        } catch (IOException e) {
+            failedLastModified = modified;
+            System.err.println("Skill taxonomy reload failed, keeping version " + current.version()
+                    + " until the file changes again: " + e.getMessage());
+        }
+    }
+
+    /**
+     * True when the taxonomy is a file that is polled for changes
+     */
+    boolean isWatched() {
+        return watched;
+    }
+
+    public synchronized SkillTaxonomy reload() throws IOException {
+        SkillTaxonomy loaded = load();
+        current = loaded;
+        return loaded;
+    }
+
+    private SkillTaxonomy load() throws IOException {
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return SkillTaxonomy.parse(reader);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1L; // Missing or unreadable right now
+        }
+    }
+}
@@ -1,29 +1,118 @@
 package com.dilip.studyplan.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.dilip.studyplan.client.AIClient;
+import com.dilip.studyplan.dto.HistoryPage;
+import com.dilip.studyplan.dto.PlanSearchHit;
 import com.dilip.studyplan.dto.StudyPlanRequest;
 import com.dilip.studyplan.dto.StudyPlanResponse;
+import com.dilip.studyplan.dto.StudyPlanSummary;
 import com.dilip.studyplan.entity.StudyPlan;
+import com.dilip.studyplan.entity.StudyPlanArchive;
+import com.dilip.studyplan.exception.InvalidRequestException;
+import com.dilip.studyplan.repository.StudyPlanArchiveRepository;
 import com.dilip.studyplan.repository.StudyPlanRepository;
+import com.dilip.studyplan.repository.StudyPlanSummaryView;
+import com.dilip.studyplan.search.Bm25Index;
+import com.dilip.studyplan.util.BoundedTtlCache;
 
 @Service
 public class StudyPlanService {
 
     private final AIClient aiClient;
     private final StudyPlanRepository repository;
+    private final StudyPlanArchiveRepository archiveRepository;
+    private final PlanWriteBehind planWriter;
+    private final PlanContentStore contentStore;
+    private final PlanSearchIndex searchIndex;
+    private final int historyPageSize;
+    private final int historyMaxPageSize;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+
+    // Formatted responses for /history/{id}; bodies are immutable, only deletes (and dropped writes) invalidate
+    private final BoundedTtlCache<Long, StudyPlanResponse> planCache;
+    private final AtomicLong planInvalidations = new AtomicLong();
+
+    // Plans written or invalidated within the replica lag; loaded from the primary, where they are current
+    private final BoundedTtlCache<Long, Boolean> recentlyChanged;
+
+    private static final int RECENT_CHANGES_MAX_ENTRIES = 10_000;
 
     private static final DateTimeFormatter DISPLAY_FORMATTER =
             DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm");
 
-    public StudyPlanService(AIClient aiClient, StudyPlanRepository repository) {
+    // Same order as the history queries: newest first, id breaks ties
+    private static final Comparator<StudyPlanSummaryView> HISTORY_ORDER =
+            Comparator.comparing(StudyPlanSummaryView::getGeneratedAt)
+                    .thenComparing(StudyPlanSummaryView::getId)
+                    .reversed();
+
+    public StudyPlanService(
+            AIClient aiClient,
+            StudyPlanRepository repository,
+            StudyPlanArchiveRepository archiveRepository,
+            PlanWriteBehind planWriter,
+            PlanContentStore contentStore,
+            PlanSearchIndex searchIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${history.page-size:20}") int historyPageSize,
+            @Value("${history.max-page-size:100}") int historyMaxPageSize,
+            @Value("${plans.cache.max-entries:1000}") int planCacheMaxEntries,
+            @Value("${plans.cache.ttl-minutes:60}") long planCacheTtlMinutes,
+            @Value("${plans.cache.max-chars:20000000}") long planCacheMaxChars,
+            @Value("${datasource.replica.max-lag-ms:2000}") long replicaMaxLagMillis
+    ) {
         this.aiClient = aiClient;
         this.repository = repository;
+        this.archiveRepository = archiveRepository;
+        this.planWriter = planWriter;
+        this.contentStore = contentStore;
+        this.searchIndex = searchIndex;
+        this.historyPageSize = historyPageSize;
+        this.historyMaxPageSize = historyMaxPageSize;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.planCache = new BoundedTtlCache<>(
+                planCacheMaxEntries,
+                Duration.ofMinutes(planCacheTtlMinutes),
+                planCacheMaxChars,
+                response -> response.getPlan() != null ? response.getPlan().length() : 0
+        );
+        this.recentlyChanged = new BoundedTtlCache<>(RECENT_CHANGES_MAX_ENTRIES, Duration.ofMillis(replicaMaxLagMillis));
+        planWriter.addListener(new PlanWriteBehind.Listener() {
+            @Override
+            public void saved(Long id) {
+                recentlyChanged.put(id, Boolean.TRUE);
+            }
+
+            @Override
+            public void dropped(Long id) {
+                evictPlan(id); // It may have been cached while pending
+            }
+        });
     }
 
     public StudyPlanResponse generatePlan(StudyPlanRequest request) {
@@ -39,7 +128,7 @@ public class StudyPlanService {
         entity.setPlan(aiResponse);
         entity.setGeneratedAt(LocalDateTime.now());
 
-        StudyPlan saved = repository.save(entity);
+        StudyPlan saved = planWriter.save(entity);
 
         // Convert Entity → DTO (including ID)
         return new StudyPlanResponse(
@@ -50,32 +139,214 @@ public class StudyPlanService {
         );
     }
 
-    public List<StudyPlanResponse> getHistory() {
+    /**
+     * Most recent plans (first history page) for page renders
+     */
+    @Transactional(readOnly = true)
+    public List<StudyPlanSummary> getHistory() {
+        return getHistoryPage(null, null).getItems();
+    }
+
+    /**
+     * One page of history, newest first, without the plan text. Pages are found by
+     * seeking past the cursor's (generatedAt, id), so cost does not grow with history size.
+     */
+    @Transactional(readOnly = true)
+    public HistoryPage getHistoryPage(String cursor, Integer size) {
+        int pageSize = size != null && size > 0 ? Math.min(size, historyMaxPageSize) : historyPageSize;
+        // One extra row tells whether an older page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
 
-        return repository.findAll()
-                .stream()
-                .map(entity -> new StudyPlanResponse(
-                        entity.getId(),
-                        entity.getTopic(),
-                        entity.getPlan(),
-                        entity.getGeneratedAt().format(DISPLAY_FORMATTER)
+        List<StudyPlanSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = withPendingPlans(repository.findLatestSummaries(limit), pageSize + 1);
+        } else {
+            rows = findSummariesAfterCursor(cursor, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<StudyPlanSummaryView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<StudyPlanSummary> items = page.stream()
+                .map(row -> new StudyPlanSummary(
+                        row.getId(),
+                        row.getTopic(),
+                        row.getGeneratedAt().format(DISPLAY_FORMATTER)
                 ))
                 .toList();
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new HistoryPage(items, nextCursor);
+    }
+
+    /**
+     * Plans matching a full-text query over topic and body, best match first.
+     * Ranking comes from the in-process index; only the hits are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<PlanSearchHit> searchHistory(String query, Integer limit) {
+        List<Bm25Index.Hit> hits = searchIndex.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(hit -> Long.valueOf(hit.key())).toList();
+
+        // 1. Unflushed plans, 2. the hot table, 3. the archive for whatever is left
+        Map<Long, StudyPlanSummaryView> rows = new HashMap<>();
+        for (Long id : ids) {
+            planWriter.pending(id).ifPresent(plan -> rows.put(id, summaryOf(plan)));
+        }
+        repository.findSummariesByIdIn(ids).forEach(row -> rows.putIfAbsent(row.getId(), row));
+        List<Long> missing = ids.stream().filter(id -> !rows.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            archiveRepository.findSummariesByIdIn(missing).forEach(row -> rows.put(row.getId(), row));
+        }
+
+        List<PlanSearchHit> results = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            StudyPlanSummaryView row = rows.get(ids.get(i));
+            if (row == null) {
+                continue; // Deleted since it was indexed, or not visible on this replica yet
+            }
+            results.add(new PlanSearchHit(
+                    row.getId(),
+                    row.getTopic(),
+                    row.getGeneratedAt().format(DISPLAY_FORMATTER),
+                    hits.get(i).score()
+            ));
+        }
+        return results;
+    }
+
+    /**
+     * True when the search index leaves out older plans because of its size cap
+     */
+    public boolean isSearchPartial() {
+        return searchIndex.isPartial();
     }
 
+    /**
+     * A plan by id, served from the near cache when possible (no transaction, no DB round trip)
+     */
     public StudyPlanResponse getPlan(Long id) {
-        StudyPlan entity = repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Study plan not found: " + id));
+        StudyPlanResponse cached = planCache.get(id);
+        if (cached == null) {
+            long invalidationsBefore = planInvalidations.get();
+            // A lagging replica may still have a just-deleted plan, or not yet have a new one
+            TransactionTemplate transaction = recentlyChanged.get(id) != null ? primaryTransaction : readOnlyTransaction;
+            cached = transaction.execute(status -> loadPlan(id));
+            // Put first, then re-check: a delete bumps the counter before it evicts, so one that
+            // ran at any point since the load is seen here and its plan is taken back out
+            planCache.put(id, cached);
+            if (planInvalidations.get() != invalidationsBefore) {
+                planCache.remove(id);
+            }
+        }
+        // Hand out a copy so callers can never modify the cached response
+        return new StudyPlanResponse(cached.getId(), cached.getTopic(), cached.getPlan(), cached.getGeneratedAt());
+    }
+
+    private StudyPlanResponse loadPlan(Long id) {
+        // A just-generated plan may still be waiting in the write-behind buffer
+        StudyPlan entity = planWriter.pending(id)
+                .or(() -> repository.findById(id))
+                .orElse(null);
+        if (entity == null) {
+            // Moved out of the hot table by the retention job
+            StudyPlanArchive archived = archiveRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Study plan not found: " + id));
+            return new StudyPlanResponse(
+                    archived.getId(),
+                    archived.getTopic(),
+                    contentStore.body(archived.getContentHash()),
+                    archived.getGeneratedAt().format(DISPLAY_FORMATTER)
+            );
+        }
+
+        // Shared bodies are cached by hash; older rows still carry their own text
+        String plan = entity.getContentHash() != null ? contentStore.body(entity.getContentHash()) : entity.getPlan();
 
         return new StudyPlanResponse(
                 entity.getId(),
                 entity.getTopic(),
-                entity.getPlan(),
+                plan,
                 entity.getGeneratedAt().format(DISPLAY_FORMATTER)
         );
     }
 
     public void deletePlan(Long id) {
-        repository.deleteById(id);
+        planWriter.delete(id);
+        evictPlan(id);
+    }
+
+    /**
+     * Drop a plan from the near cache; call whenever its stored content changes
+     */
+    public void evictPlan(Long id) {
+        recentlyChanged.put(id, Boolean.TRUE);
+        planInvalidations.incrementAndGet(); // Before the remove: getPlan relies on this order
+        planCache.remove(id);
+    }
+
+    /**
+     * First history page including plans not flushed yet (they are the newest)
+     */
+    private List<StudyPlanSummaryView> withPendingPlans(List<StudyPlanSummaryView> rows, int limit) {
+        List<StudyPlan> pending = planWriter.pendingNewestFirst();
+        if (pending.isEmpty()) {
+            return rows;
+        }
+        Set<Long> pendingIds = new HashSet<>();
+        List<StudyPlanSummaryView> merged = new ArrayList<>();
+        for (StudyPlan plan : pending) {
+            pendingIds.add(plan.getId());
+            merged.add(summaryOf(plan));
+        }
+        for (StudyPlanSummaryView row : rows) {
+            if (!pendingIds.contains(row.getId())) { // Flushed while we were reading
+                merged.add(row);
+            }
+        }
+        merged.sort(HISTORY_ORDER);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private static StudyPlanSummaryView summaryOf(StudyPlan plan) {
+        return new StudyPlanSummaryView() {
+            @Override
+            public Long getId() {
+                return plan.getId();
+            }
+
+            @Override
+            public String getTopic() {
+                return plan.getTopic();
+            }
+
+            @Override
+            public LocalDateTime getGeneratedAt() {
+                return plan.getGeneratedAt();
+            }
+        };
+    }
+
+    /**
+     * Opaque cursor for the position after {@code row}: base64url of "generatedAt|id"
+     */
+    private static String encodeCursor(StudyPlanSummaryView row) {
+        String position = row.getGeneratedAt() + "|" + row.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<StudyPlanSummaryView> findSummariesAfterCursor(String cursor, PageRequest limit) {
+        LocalDateTime generatedAt;
+        Long id;
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            generatedAt = LocalDateTime.parse(position.substring(0, separator));
+            id = Long.valueOf(position.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid history cursor");
+        }
+        return repository.findSummariesBefore(generatedAt, id, limit);
     }
 }
@@ -0,0 +1,155 @@
+package com.dilip.studyplan.skill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A resume or JD analyzed once against one taxonomy snapshot.
+ *
+ * Holds the text, its lower-cased tokens with offsets, per-skill hit counts, section
+ * headings and per-skill evidence so every stage of gap analysis (skill
+ * extraction, level inference, ATS scoring) reads the same artifact instead of
+ * re-lowercasing and re-scanning the text. Instances are immutable and safe to
+ * cache and share between threads.
+ */
+public final class AnalyzedDocument {
+
+    private final String fingerprint;
+    private final String text;
+    private final TokenizedText tokens;
+    private final SkillTaxonomy taxonomy;
+    private final int[] skillHits;
+    private final Set<String> foundSkills;
+    private final Map<String, SkillEvidence> evidence;
+    private final int[] sectionStarts;
+    private final ResumeSection[] sectionKinds;
+
+    private AnalyzedDocument(String fingerprint, String text, TokenizedText tokens, SkillTaxonomy taxonomy,
+                             int[] skillHits, Set<String> foundSkills, Map<String, SkillEvidence> evidence,
+                             int[] sectionStarts, ResumeSection[] sectionKinds) {
+        this.fingerprint = fingerprint;
+        this.text = text;
+        this.tokens = tokens;
+        this.taxonomy = taxonomy;
+        this.skillHits = skillHits;
+        this.foundSkills = foundSkills;
+        this.evidence = evidence;
+        this.sectionStarts = sectionStarts;
+        this.sectionKinds = sectionKinds;
+    }
+
+    /**
+     * Tokenize, match every taxonomy skill and collect evidence for the skills found
+     */
+    public static AnalyzedDocument analyze(String text, String fingerprint, SkillTaxonomy taxonomy) {
+        String source = text != null ? text : "";
+
+        // 1. One matcher pass for hit counts of every taxonomy skill
+        SkillMatcher matcher = taxonomy.matcher();
+        int[] hits = matcher.countHits(source);
+        Set<String> found = new LinkedHashSet<>();
+        Map<String, List<String>> phrasesBySkill = new LinkedHashMap<>();
+        for (int s = 0; s < hits.length; s++) {
+            if (hits[s] > 0) {
+                String skill = matcher.skillName(s);
+                found.add(skill);
+                phrasesBySkill.put(skill, taxonomy.phrases(skill));
+            }
+        }
+
+        // 2. One token pass for sections and evidence of the skills present
+        TokenizedText tokens = TokenizedText.of(source);
+        List<Integer> starts = new ArrayList<>();
+        List<ResumeSection> kinds = new ArrayList<>();
+        Map<String, SkillEvidence> evidence = ResumeEvidenceExtractor.extract(tokens, phrasesBySkill,
+                (tokenIndex, section) -> {
+                    starts.add(tokenIndex);
+                    kinds.add(section);
+                });
+
+        return new AnalyzedDocument(
+                fingerprint,
+                source,
+                tokens,
+                taxonomy,
+                hits,
+                Collections.unmodifiableSet(found),
+                Collections.unmodifiableMap(evidence),
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                kinds.toArray(new ResumeSection[0])
+        );
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public TokenizedText tokens() {
+        return tokens;
+    }
+
+    /**
+     * Approximate footprint in chars, for weighing cache entries: the text, the token
+     * strings (about as long again) and four ints of offsets per token
+     */
+    public long weight() {
+        return 2L * text.length() + 8L * tokens.size();
+    }
+
+    /** Taxonomy snapshot this document was analyzed against. */
+    public SkillTaxonomy taxonomy() {
+        return taxonomy;
+    }
+
+    public boolean isBlank() {
+        return text.isBlank();
+    }
+
+    /**
+     * Hits for a canonical taxonomy skill (all its phrases combined), or -1 if the taxonomy does not know it
+     */
+    public int hits(String canonicalSkill) {
+        int index = taxonomy.matcher().skillIndex(canonicalSkill);
+        return index >= 0 ? skillHits[index] : -1;
+    }
+
+    /**
+     * Hits for a skill by its index in {@code taxonomy().matcher()}
+     */
+    public int hitsAt(int matcherIndex) {
+        return skillHits[matcherIndex];
+    }
+
+    /** Canonical names of taxonomy skills with at least one hit, in taxonomy order. */
+    public Set<String> foundSkills() {
+        return foundSkills;
+    }
+
+    /**
+     * Evidence for a found skill, or null if the skill was not found
+     */
+    public SkillEvidence evidence(String canonicalSkill) {
+        return evidence.get(canonicalSkill);
+    }
+
+    /**
+     * Section the token at {@code tokenIndex} belongs to
+     */
+    public ResumeSection sectionAt(int tokenIndex) {
+        int heading = Arrays.binarySearch(sectionStarts, tokenIndex);
+        if (heading < 0) {
+            heading = -heading - 2; // Last heading before the token
+        }
+        return heading >= 0 ? sectionKinds[heading] : ResumeSection.OTHER;
+    }
+}
@@ -0,0 +1,289 @@
+package com.dilip.studyplan.skill;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass, section-aware evidence extractor for resumes.
+ *
+ * The resume is tokenized once and walked once. For every requested skill it
+ * collects mentions, "N years" statements, project and certification context
+ * (same line, within a few tokens) and the sections the skill appears in.
+ * Cost is linear in the document size regardless of how many skills are asked for.
+ */
+public final class ResumeEvidenceExtractor {
+
+    /** How far (in tokens, same line) a context cue may be from a mention. */
+    private static final int CONTEXT_WINDOW = 8;
+
+    private static final Set<String> YEAR_WORDS = Set.of("year", "years", "yr", "yrs");
+    private static final Set<String> PROJECT_CUES = Set.of("project", "projects", "built", "developed", "implemented");
+    private static final Set<String> CERTIFICATION_CUES = Set.of("certified", "certification", "certificate", "certifications");
+
+    /** Receives each section heading as the index of the first token after it. */
+    @FunctionalInterface
+    interface SectionListener {
+        void onSection(int tokenIndex, ResumeSection section);
+    }
+
+    private ResumeEvidenceExtractor() {
+    }
+
+    /**
+     * Evidence for each skill, matching the skill name itself
+     */
+    public static Map<String, SkillEvidence> extract(String text, Collection<String> skills) {
+        Map<String, List<String>> phrasesBySkill = new LinkedHashMap<>();
+        for (String skill : skills) {
+            phrasesBySkill.put(skill, List.of(skill));
+        }
+        return extract(TokenizedText.of(text), phrasesBySkill);
+    }
+
+    /**
+     * Evidence for each skill, matching any of its phrases (name, synonyms, ...)
+     */
+    public static Map<String, SkillEvidence> extract(TokenizedText tokens, Map<String, ? extends Collection<String>> phrasesBySkill) {
+        return extract(tokens, phrasesBySkill, (tokenIndex, section) -> { });
+    }
+
+    /**
+     * Same as {@link #extract(TokenizedText, Map)}, also reporting section headings as they are found
+     */
+    static Map<String, SkillEvidence> extract(TokenizedText tokens, Map<String, ? extends Collection<String>> phrasesBySkill,
+                                              SectionListener sectionListener) {
+        Map<String, SkillEvidence> evidence = new LinkedHashMap<>();
+        Map<String, List<Phrase>> phrasesByFirstTerm = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : phrasesBySkill.entrySet()) {
+            SkillEvidence skillEvidence = evidence.computeIfAbsent(entry.getKey(), k -> new SkillEvidence());
+            for (String phrase : entry.getValue()) {
+                TokenizedText phraseTokens = TokenizedText.of(phrase);
+                if (phraseTokens.size() == 0) {
+                    continue;
+                }
+                String[] terms = new String[phraseTokens.size()];
+                for (int t = 0; t < terms.length; t++) {
+                    terms[t] = phraseTokens.term(t);
+                }
+                phrasesByFirstTerm.computeIfAbsent(terms[0], k -> new ArrayList<>())
+                        .add(new Phrase(terms, skillEvidence));
+            }
+        }
+        // Longest phrase first, so a mention covers the longest match ("spring boot" over "spring")
+        for (List<Phrase> phrases : phrasesByFirstTerm.values()) {
+            phrases.sort((a, b) -> Integer.compare(b.terms.length, a.terms.length));
+        }
+
+        ResumeSection section = ResumeSection.OTHER;
+        ArrayDeque<Mention> recentMentions = new ArrayDeque<>();
+        List<SkillEvidence> matchedHere = new ArrayList<>();
+        Map<SkillEvidence, Integer> mentionEnds = new IdentityHashMap<>(); // Token after each skill's last mention
+        Cue lastYears = new Cue();
+        Cue lastProject = new Cue();
+        Cue lastCertification = new Cue();
+
+        int currentLine = -1;
+        int i = 0;
+        while (i < tokens.size()) {
+            int line = tokens.line(i);
+            if (line != currentLine) {
+                currentLine = line;
+                int headingTokens = headingLength(tokens, i);
+                if (headingTokens > 0) {
+                    section = ResumeSection.forHeading(join(tokens, i, headingTokens));
+                    i += headingTokens;
+                    sectionListener.onSection(i, section);
+                    continue;
+                }
+            }
+
+            while (!recentMentions.isEmpty() && i - recentMentions.peekFirst().index > CONTEXT_WINDOW) {
+                recentMentions.pollFirst();
+            }
+
+            // 1. Context cues credit mentions seen just before them
+            String term = tokens.term(i);
+            int years = yearsAt(tokens, i);
+            if (years > 0) {
+                lastYears.set(i, line, years);
+                for (Mention mention : recentMentions) {
+                    if (mention.line == line) {
+                        mention.evidence.recordYears(years);
+                    }
+                }
+            } else if (PROJECT_CUES.contains(term)) {
+                lastProject.set(i, line, 1);
+                for (Mention mention : recentMentions) {
+                    if (mention.line == line) {
+                        mention.evidence.recordProjectContext();
+                    }
+                }
+            } else if (CERTIFICATION_CUES.contains(term)) {
+                lastCertification.set(i, line, 1);
+                for (Mention mention : recentMentions) {
+                    if (mention.line == line) {
+                        mention.evidence.recordCertificationContext();
+                    }
+                }
+            }
+
+            // 2. Skill mentions starting here, credited with cues seen just before them
+            List<Phrase> candidates = phrasesByFirstTerm.get(term);
+            if (candidates != null) {
+                matchedHere.clear();
+                for (Phrase phrase : candidates) {
+                    if (matchedHere.contains(phrase.evidence) || !phrase.matchesAt(tokens, i)
+                            || i < mentionEnds.getOrDefault(phrase.evidence, 0)) {
+                        continue; // Already credited here, or inside this skill's previous mention
+                    }
+                    matchedHere.add(phrase.evidence);
+                    mentionEnds.put(phrase.evidence, i + phrase.terms.length);
+
+                    phrase.evidence.recordMention(section);
+                    if (lastYears.isNear(i, line)) {
+                        phrase.evidence.recordYears(lastYears.value);
+                    }
+                    if (lastProject.isNear(i, line)) {
+                        phrase.evidence.recordProjectContext();
+                    }
+                    if (lastCertification.isNear(i, line)) {
+                        phrase.evidence.recordCertificationContext();
+                    }
+                    recentMentions.addLast(new Mention(i, line, phrase.evidence));
+                }
+            }
+            i++;
+        }
+
+        return evidence;
+    }
+
+    /**
+     * Number of tokens forming a section heading at the start of a line, 0 if none.
+     * A heading is either the whole line ("Projects") or followed by a colon ("Skills: Java, SQL").
+     */
+    private static int headingLength(TokenizedText tokens, int lineStart) {
+        int line = tokens.line(lineStart);
+        int lineTokens = 0;
+        while (lineStart + lineTokens < tokens.size()
+                && tokens.line(lineStart + lineTokens) == line
+                && lineTokens <= ResumeSection.MAX_HEADING_TOKENS) {
+            lineTokens++;
+        }
+
+        int maxLength = Math.min(lineTokens, ResumeSection.MAX_HEADING_TOKENS);
+        for (int length = maxLength; length >= 1; length--) {
+            boolean wholeLine = length == lineTokens;
+            if (!wholeLine && !followedByColon(tokens, lineStart + length - 1)) {
+                continue;
+            }
+            if (ResumeSection.forHeading(join(tokens, lineStart, length)) != null) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean followedByColon(TokenizedText tokens, int index) {
+        String text = tokens.text();
+        for (int c = tokens.end(index); c < text.length(); c++) {
+            char ch = text.charAt(c);
+            if (ch == ':') {
+                return true;
+            }
+            if (!Character.isWhitespace(ch) || ch == '\n') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String join(TokenizedText tokens, int from, int length) {
+        if (length == 1) {
+            return tokens.term(from);
+        }
+        StringBuilder sb = new StringBuilder(tokens.term(from));
+        for (int k = 1; k < length; k++) {
+            sb.append(' ').append(tokens.term(from + k));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * N when the tokens at {@code index} read "N years" / "N+ yrs" / "N.5 years", else 0
+     */
+    static int yearsAt(TokenizedText tokens, int index) {
+        if (index + 1 >= tokens.size() || !YEAR_WORDS.contains(tokens.term(index + 1))) {
+            return 0;
+        }
+        String term = tokens.term(index);
+        int value = 0;
+        int digits = 0;
+        while (digits < term.length() && Character.isDigit(term.charAt(digits))) {
+            value = value * 10 + (term.charAt(digits) - '0');
+            digits++;
+            if (value > 60) {
+                return 0; // Not a plausible experience statement
+            }
+        }
+        return digits > 0 ? value : 0;
+    }
+
+    private static final class Phrase {
+        private final String[] terms;
+        private final SkillEvidence evidence;
+
+        private Phrase(String[] terms, SkillEvidence evidence) {
+            this.terms = terms;
+            this.evidence = evidence;
+        }
+
+        private boolean matchesAt(TokenizedText tokens, int index) {
+            if (index + terms.length > tokens.size()) {
+                return false;
+            }
+            for (int t = 1; t < terms.length; t++) {
+                if (!terms[t].equals(tokens.term(index + t))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Mention {
+        private final int index;
+        private final int line;
+        private final SkillEvidence evidence;
+
+        private Mention(int index, int line, SkillEvidence evidence) {
+            this.index = index;
+            this.line = line;
+            this.evidence = evidence;
+        }
+    }
+
+    /** Position of the most recent context cue of one kind. */
+    private static final class Cue {
+        private int index = Integer.MIN_VALUE / 2;
+        private int line = -1;
+        private int value;
+
+        private void set(int index, int line, int value) {
+            this.index = index;
+            this.line = line;
+            this.value = value;
+        }
+
+        private boolean isNear(int mentionIndex, int mentionLine) {
+            return line == mentionLine && mentionIndex - index <= CONTEXT_WINDOW;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.dilip.studyplan.skill;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resume sections recognised from heading lines such as "Work Experience" or "Projects".
+ */
+public enum ResumeSection {
+    OTHER,
+    SUMMARY,
+    EXPERIENCE,
+    PROJECTS,
+    SKILLS,
+    EDUCATION,
+    CERTIFICATIONS;
+
+    /** Longest heading we try to recognise, in tokens. */
+    static final int MAX_HEADING_TOKENS = 4;
+
+    private static final Map<String, ResumeSection> HEADINGS = createHeadings();
+
+    /**
+     * Section for a heading line (lower-cased tokens joined by single spaces), or null
+     */
+    static ResumeSection forHeading(String heading) {
+        return HEADINGS.get(heading);
+    }
+
+    private static Map<String, ResumeSection> createHeadings() {
+        Map<String, ResumeSection> map = new HashMap<>();
+        for (String h : new String[] {"summary", "profile", "objective", "professional summary", "career objective", "about me"}) {
+            map.put(h, SUMMARY);
+        }
+        for (String h : new String[] {"experience", "work experience", "professional experience", "employment",
+                "employment history", "work history", "internships", "internship"}) {
+            map.put(h, EXPERIENCE);
+        }
+        for (String h : new String[] {"projects", "project", "personal projects", "academic projects", "key projects",
+                "project experience"}) {
+            map.put(h, PROJECTS);
+        }
+        for (String h : new String[] {"skills", "technical skills", "key skills", "core competencies", "technologies",
+                "tech stack", "skills summary"}) {
+            map.put(h, SKILLS);
+        }
+        for (String h : new String[] {"education", "academic background", "qualifications", "academics"}) {
+            map.put(h, EDUCATION);
+        }
+        for (String h : new String[] {"certifications", "certification", "certificates", "licenses and certifications",
+                "courses and certifications"}) {
+            map.put(h, CERTIFICATIONS);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dilip.studyplan.skill;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Everything a resume says about one skill, collected in a single pass.
+ */
+public class SkillEvidence {
+
+    private int mentions;
+    private int maxYears;
+    private int projectMentions;
+    private int certificationMentions;
+    private final EnumSet<ResumeSection> sections = EnumSet.noneOf(ResumeSection.class);
+
+    void recordMention(ResumeSection section) {
+        mentions++;
+        sections.add(section);
+        if (section == ResumeSection.PROJECTS) {
+            projectMentions++;
+        } else if (section == ResumeSection.CERTIFICATIONS) {
+            certificationMentions++;
+        }
+    }
+
+    void recordYears(int years) {
+        maxYears = Math.max(maxYears, years);
+    }
+
+    void recordProjectContext() {
+        projectMentions++;
+    }
+
+    void recordCertificationContext() {
+        certificationMentions++;
+    }
+
+    public int getMentions() {
+        return mentions;
+    }
+
+    /** Largest "N years" statement found next to a mention, 0 if none. */
+    public int getMaxYears() {
+        return maxYears;
+    }
+
+    public int getProjectMentions() {
+        return projectMentions;
+    }
+
+    public int getCertificationMentions() {
+        return certificationMentions;
+    }
+
+    public Set<ResumeSection> getSections() {
+        return Collections.unmodifiableSet(sections);
+    }
+
+    /**
+     * Skill level (1-4) inferred from the collected evidence
+     */
+    public int inferLevel() {
+        if (maxYears > 0 || mentions > 5) {
+            return 4; // Experienced
+        } else if (projectMentions > 0 || certificationMentions > 0
+                || sections.contains(ResumeSection.EXPERIENCE) || mentions > 2) {
+            return 3; // Intermediate
+        } else if (mentions > 0) {
+            return 2; // Basic
+        }
+        return 1; // Mentioned but minimal
+    }
+}
@@ -0,0 +1,180 @@
+package com.dilip.studyplan.skill;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup of skill names using a SymSpell-style delete dictionary.
+ *
+ * Every key is indexed under all strings reachable by deleting up to
+ * {@link #MAX_DISTANCE} characters. A lookup generates the same deletes for the
+ * query, so candidates come from a handful of hash probes instead of a scan over
+ * all keys; each candidate is then verified with Damerau-Levenshtein (optimal
+ * string alignment) distance. The allowed distance grows with the query length
+ * and short names are never corrected ("Rust" must not become "Ruby").
+ */
+public final class SkillFuzzyIndex {
+
+    static final int MAX_DISTANCE = 2;
+
+    private final String[] keys;
+    private final int[] values;
+    private final Map<String, int[]> keysByDelete;
+
+    private SkillFuzzyIndex(String[] keys, int[] values, Map<String, int[]> keysByDelete) {
+        this.keys = keys;
+        this.values = values;
+        this.keysByDelete = keysByDelete;
+    }
+
+    /**
+     * Build from key to value (value must be >= 0). Keys are normalized with
+     * {@link SkillText#normalize}; on duplicates the first value wins.
+     */
+    public static SkillFuzzyIndex build(Map<String, Integer> entries) {
+        List<String> keys = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Map<String, List<Integer>> keysByDelete = new HashMap<>();
+
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = SkillText.normalize(entry.getKey());
+            if (key.isEmpty() || !seen.add(key)) {
+                continue;
+            }
+            int keyId = keys.size();
+            keys.add(key);
+            values.add(entry.getValue());
+            for (String delete : deletes(key, MAX_DISTANCE)) {
+                keysByDelete.computeIfAbsent(delete, k -> new ArrayList<>(1)).add(keyId);
+            }
+        }
+
+        Map<String, int[]> compact = new HashMap<>(keysByDelete.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : keysByDelete.entrySet()) {
+            compact.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new SkillFuzzyIndex(
+                keys.toArray(new String[0]),
+                values.stream().mapToInt(Integer::intValue).toArray(),
+                compact
+        );
+    }
+
+    /**
+     * Value of the single closest key within the allowed distance, or -1 when
+     * nothing is close enough or the closest keys point at different values
+     */
+    public int get(CharSequence query) {
+        if (query == null) {
+            return -1;
+        }
+        String normalized = SkillText.normalize(query);
+        int maxDistance = allowedDistance(normalized.length());
+        if (maxDistance == 0) {
+            return -1;
+        }
+
+        int bestDistance = maxDistance + 1;
+        int bestValue = -1;
+        boolean ambiguous = false;
+        Set<Integer> checked = new HashSet<>();
+        for (String delete : deletes(normalized, maxDistance)) {
+            int[] candidates = keysByDelete.get(delete);
+            if (candidates == null) {
+                continue;
+            }
+            for (int keyId : candidates) {
+                if (!checked.add(keyId)
+                        || Math.abs(keys[keyId].length() - normalized.length()) > maxDistance) {
+                    continue;
+                }
+                int distance = distance(normalized, keys[keyId], bestDistance + 1);
+                if (distance > maxDistance) {
+                    continue;
+                }
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestValue = values[keyId];
+                    ambiguous = false;
+                } else if (distance == bestDistance && values[keyId] != bestValue) {
+                    ambiguous = true;
+                }
+            }
+        }
+        return ambiguous ? -1 : bestValue;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Edits tolerated for a query of this length: none up to 4 chars, 1 up to 8, then 2
+     */
+    static int allowedDistance(int length) {
+        if (length <= 4) {
+            return 0;
+        }
+        return length <= 8 ? 1 : MAX_DISTANCE;
+    }
+
+    /**
+     * The word itself plus every string reachable by deleting up to {@code maxDeletes} chars
+     */
+    static Set<String> deletes(String word, int maxDeletes) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> frontier = List.of(word);
+        for (int depth = 0; depth < maxDeletes; depth++) {
+            List<String> next = new ArrayList<>();
+            for (String current : frontier) {
+                for (int i = 0; i < current.length(); i++) {
+                    String shorter = current.substring(0, i) + current.substring(i + 1);
+                    if (!shorter.isEmpty() && result.add(shorter)) {
+                        next.add(shorter);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance, or any value >= {@code limit} once it is known to reach it
+     */
+    static int distance(String a, String b, int limit) {
+        int[] twoBack = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, twoBack[j - 2] + 1); // transposition
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin >= limit) {
+                return limit;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
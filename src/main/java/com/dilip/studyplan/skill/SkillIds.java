@@ -0,0 +1,59 @@
+package com.dilip.studyplan.skill;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Process-wide interner from canonical skill names to small dense int ids, so
+ * indexes and skill vectors can work with ints instead of strings. Ids are
+ * never reused; lookups are lock-free and interning a new name is synchronized.
+ */
+@Component
+public class SkillIds {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private int size;
+
+    /**
+     * Id for a skill name, assigning the next id if the name is new
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = name;
+            names = current;
+            ids.put(name, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Id for a skill name, or -1 if it was never interned
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
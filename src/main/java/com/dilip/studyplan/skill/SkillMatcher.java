@@ -0,0 +1,304 @@
+package com.dilip.studyplan.skill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Precompiled Aho-Corasick automaton over skill names and synonyms.
+ *
+ * One linear pass over the text finds every synonym hit. Matching is
+ * case-insensitive, treats any whitespace run as a single space and respects
+ * word boundaries, so "js" does not match "json" and "db" does not match
+ * "feedback". Instances are immutable and safe to share between threads.
+ */
+public final class SkillMatcher {
+
+    /** Receives each hit as original-text offsets plus the skill index. */
+    @FunctionalInterface
+    public interface HitListener {
+        void onHit(int start, int end, int skillIndex);
+    }
+
+    private final String[] skillNames;
+    private final Map<String, Integer> skillIndexByName;
+
+    // Automaton: sorted edge labels / targets per state, failure links and output chains
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[] stateOutput;   // pattern ending in this state, -1 if none
+    private final int[] outputLink;    // next state on the failure chain that has an output, -1 if none
+
+    // Patterns
+    private final int[][] patternSkills;
+    private final int[] patternLength;
+    private final boolean[] patternWordStart;
+    private final boolean[] patternWordEnd;
+    private final int maxPatternLength;
+
+    private SkillMatcher(String[] skillNames, List<String> patterns, List<int[]> skills) {
+        this.skillNames = skillNames;
+        this.skillIndexByName = new HashMap<>();
+        for (int s = 0; s < skillNames.length; s++) {
+            skillIndexByName.put(skillNames[s], s);
+        }
+
+        int patternCount = patterns.size();
+        this.patternSkills = new int[patternCount][];
+        this.patternLength = new int[patternCount];
+        this.patternWordStart = new boolean[patternCount];
+        this.patternWordEnd = new boolean[patternCount];
+
+        // 1. Build the trie with temporary maps
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(-1);
+        int longest = 0;
+        for (int p = 0; p < patternCount; p++) {
+            String pattern = patterns.get(p);
+            int state = 0;
+            for (int c = 0; c < pattern.length(); c++) {
+                char ch = pattern.charAt(c);
+                Integer next = trie.get(state).get(ch);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    outputs.add(-1);
+                    trie.get(state).put(ch, next);
+                }
+                state = next;
+            }
+            outputs.set(state, p);
+            patternSkills[p] = skills.get(p);
+            patternLength[p] = pattern.length();
+            patternWordStart[p] = isWordChar(pattern.charAt(0));
+            patternWordEnd[p] = isWordChar(pattern.charAt(pattern.length() - 1));
+            longest = Math.max(longest, pattern.length());
+        }
+        this.maxPatternLength = Math.max(1, longest);
+
+        // 2. Compact the trie into sorted arrays
+        int stateCount = trie.size();
+        this.edgeChars = new char[stateCount][];
+        this.edgeTargets = new int[stateCount][];
+        this.stateOutput = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            char[] chars = new char[edges.size()];
+            int[] targets = new int[edges.size()];
+            int e = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                chars[e] = edge.getKey();
+                targets[e] = edge.getValue();
+                e++;
+            }
+            edgeChars[s] = chars;
+            edgeTargets[s] = targets;
+            stateOutput[s] = outputs.get(s);
+        }
+
+        // 3. Failure and output links, breadth first
+        this.failure = new int[stateCount];
+        this.outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            queue[tail++] = target;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = 0; e < edgeChars[state].length; e++) {
+                char ch = edgeChars[state][e];
+                int child = edgeTargets[state][e];
+
+                int fallback = failure[state];
+                while (fallback != 0 && transition(fallback, ch) < 0) {
+                    fallback = failure[fallback];
+                }
+                int candidate = transition(fallback, ch);
+                failure[child] = candidate >= 0 && candidate != child ? candidate : 0;
+
+                int linked = failure[child];
+                outputLink[child] = stateOutput[linked] >= 0 ? linked : outputLink[linked];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * Build a matcher from canonical skill name to synonyms. The canonical name
+     * itself is always matched as well.
+     */
+    public static SkillMatcher of(Map<String, ? extends Collection<String>> synonymsBySkill) {
+        Map<String, Set<String>> phrasesBySkill = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : synonymsBySkill.entrySet()) {
+            Set<String> phrases = new LinkedHashSet<>();
+            phrases.add(entry.getKey());
+            phrases.addAll(entry.getValue());
+            phrasesBySkill.put(entry.getKey(), phrases);
+        }
+        return ofPhrases(phrasesBySkill);
+    }
+
+    /**
+     * Build a matcher that matches exactly the given phrases for each skill
+     * (the skill name itself only if it is listed).
+     */
+    public static SkillMatcher ofPhrases(Map<String, ? extends Collection<String>> phrasesBySkill) {
+        String[] names = phrasesBySkill.keySet().toArray(new String[0]);
+        Map<String, Integer> patternIds = new HashMap<>();
+        List<String> patterns = new ArrayList<>();
+        List<int[]> skills = new ArrayList<>();
+
+        for (int s = 0; s < names.length; s++) {
+            for (String phrase : phrasesBySkill.get(names[s])) {
+                String normalized = SkillText.normalize(phrase);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                Integer existing = patternIds.get(normalized);
+                if (existing == null) {
+                    patternIds.put(normalized, patterns.size());
+                    patterns.add(normalized);
+                    skills.add(new int[] {s});
+                } else {
+                    // A phrase shared by several skills ("mysql" -> MySQL and SQL) reports all of them
+                    int[] owners = skills.get(existing);
+                    if (owners[owners.length - 1] != s) {
+                        int[] grown = Arrays.copyOf(owners, owners.length + 1);
+                        grown[owners.length] = s;
+                        skills.set(existing, grown);
+                    }
+                }
+            }
+        }
+        return new SkillMatcher(names, patterns, skills);
+    }
+
+    public int skillCount() {
+        return skillNames.length;
+    }
+
+    public String skillName(int skillIndex) {
+        return skillNames[skillIndex];
+    }
+
+    /**
+     * Index of a canonical skill name, or -1 if unknown
+     */
+    public int skillIndex(String skillName) {
+        Integer index = skillIndexByName.get(skillName);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Report every boundary-respecting hit in one pass over {@code text}, in order of end
+     * offset (longest first for a shared end). Overlapping synonyms are all reported;
+     * {@link #countHits} merges them.
+     */
+    public void scan(CharSequence text, HitListener listener) {
+        if (text == null) {
+            return;
+        }
+        // Original offsets of the last maxPatternLength normalized chars
+        int[] positions = new int[maxPatternLength];
+        long consumed = 0;
+        boolean previousWasSpace = true;
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                if (previousWasSpace) {
+                    continue;
+                }
+                ch = ' ';
+                previousWasSpace = true;
+            } else {
+                ch = Character.toLowerCase(ch);
+                previousWasSpace = false;
+            }
+            positions[(int) (consumed % maxPatternLength)] = i;
+            consumed++;
+
+            int next = transition(state, ch);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, ch);
+            }
+            state = next >= 0 ? next : 0;
+
+            int outState = stateOutput[state] >= 0 ? state : outputLink[state];
+            while (outState >= 0) {
+                int pattern = stateOutput[outState];
+                int start = positions[(int) ((consumed - patternLength[pattern]) % maxPatternLength)];
+                int end = i + 1;
+                if ((!patternWordStart[pattern] || start == 0 || !isWordChar(text.charAt(start - 1)))
+                        && (!patternWordEnd[pattern] || end == text.length() || !isWordChar(text.charAt(end)))) {
+                    for (int skill : patternSkills[pattern]) {
+                        listener.onHit(start, end, skill);
+                    }
+                }
+                outState = outputLink[outState];
+            }
+        }
+    }
+
+    /**
+     * Number of hits per skill index (all synonyms combined). Overlapping hits of one skill
+     * are one mention: "Node.js" is not also a "js" hit, and "Spring Boot" is not also "spring"
+     */
+    public int[] countHits(CharSequence text) {
+        int[] counts = new int[skillNames.length];
+        int[] spanStart = new int[skillNames.length];
+        int[] spanEnd = new int[skillNames.length]; // End of the last counted span per skill, 0 if none
+        scan(text, (start, end, skill) -> {
+            if (start < spanEnd[skill]) {
+                // Same mention: grow the span to the longest match instead of counting again
+                spanStart[skill] = Math.min(spanStart[skill], start);
+                spanEnd[skill] = Math.max(spanEnd[skill], end);
+                return;
+            }
+            counts[skill]++;
+            spanStart[skill] = start;
+            spanEnd[skill] = end;
+        });
+        return counts;
+    }
+
+    /**
+     * Canonical names of all skills with at least one hit
+     */
+    public Set<String> findSkills(CharSequence text) {
+        int[] counts = countHits(text);
+        Set<String> found = new LinkedHashSet<>();
+        for (int s = 0; s < counts.length; s++) {
+            if (counts[s] > 0) {
+                found.add(skillNames[s]);
+            }
+        }
+        return found;
+    }
+
+    private int transition(int state, char ch) {
+        int edge = Arrays.binarySearch(edgeChars[state], ch);
+        return edge >= 0 ? edgeTargets[state][edge] : -1;
+    }
+
+    /** '+' and '#' count as word chars so "c" does not match inside "c++" or "c#". */
+    private static boolean isWordChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '+' || ch == '#';
+    }
+}
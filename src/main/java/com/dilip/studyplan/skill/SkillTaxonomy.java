@@ -0,0 +1,195 @@
+package com.dilip.studyplan.skill;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dilip.studyplan.util.BoundedTtlCache;
+
+/**
+ * Immutable snapshot of the skill vocabulary loaded from a taxonomy file.
+ *
+ * File format, one skill per line:
+ * <pre>
+ * # version: 3
+ * Spring Boot | springboot | spring-boot | ~spring | ~spring mvc
+ * !Go | golang
+ * </pre>
+ * The first column is the canonical name. Plain aliases are alternative names:
+ * they normalize to the canonical name and are matched in free text.
+ * {@code ~} marks keyword hints that are only matched in free text. A leading
+ * {@code !} marks a canonical name too ambiguous to match in free text.
+ * Names and aliases are also indexed for typo-tolerant normalization.
+ */
+public final class SkillTaxonomy {
+
+    private static final int NORMALIZED_CACHE_ENTRIES = 10_000;
+    private static final Duration NORMALIZED_CACHE_TTL = Duration.ofHours(12);
+
+    private final String version;
+    private final String[] names;
+    private final Map<String, List<String>> phrasesBySkill;
+    private final SkillTrie nameIndex;
+    private final SkillFuzzyIndex fuzzyIndex;
+    private final SkillMatcher matcher;
+
+    // Normalization results (including misses) for this snapshot; a reload starts with an empty cache
+    private final BoundedTtlCache<String, String> normalizedCache =
+            new BoundedTtlCache<>(NORMALIZED_CACHE_ENTRIES, NORMALIZED_CACHE_TTL);
+
+    private SkillTaxonomy(String version, String[] names, Map<String, List<String>> phrasesBySkill, Map<String, Integer> nameToId) {
+        this.version = version;
+        this.names = names;
+        this.phrasesBySkill = phrasesBySkill;
+        this.nameIndex = SkillTrie.build(nameToId);
+        this.fuzzyIndex = SkillFuzzyIndex.build(nameToId);
+        this.matcher = SkillMatcher.ofPhrases(phrasesBySkill);
+    }
+
+    public static SkillTaxonomy parse(Reader source) throws IOException {
+        String version = "unversioned";
+        List<String> names = new ArrayList<>();
+        Map<String, List<String>> phrasesBySkill = new LinkedHashMap<>();
+        Map<String, Integer> nameToId = new HashMap<>();
+
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.startsWith("#")) {
+                String comment = trimmed.substring(1).trim();
+                if (comment.toLowerCase().startsWith("version:")) {
+                    version = comment.substring("version:".length()).trim();
+                }
+                continue;
+            }
+
+            String[] columns = trimmed.split("\\|");
+            String canonical = columns[0].trim();
+            boolean matchName = true;
+            if (canonical.startsWith("!")) {
+                matchName = false;
+                canonical = canonical.substring(1).trim();
+            }
+            if (canonical.isEmpty()) {
+                throw new IOException("Missing canonical skill name on line " + lineNumber);
+            }
+            if (phrasesBySkill.containsKey(canonical)) {
+                throw new IOException("Duplicate skill '" + canonical + "' on line " + lineNumber);
+            }
+
+            int id = names.size();
+            names.add(canonical);
+            nameToId.putIfAbsent(SkillText.normalize(canonical), id);
+
+            Set<String> phrases = new LinkedHashSet<>();
+            if (matchName) {
+                phrases.add(canonical);
+            }
+            for (int c = 1; c < columns.length; c++) {
+                String alias = columns[c].trim();
+                if (alias.startsWith("~")) {
+                    alias = alias.substring(1).trim();
+                } else if (!alias.isEmpty()) {
+                    nameToId.putIfAbsent(SkillText.normalize(alias), id);
+                }
+                if (!alias.isEmpty()) {
+                    phrases.add(alias);
+                }
+            }
+            phrasesBySkill.put(canonical, List.copyOf(phrases));
+        }
+
+        return new SkillTaxonomy(
+                version,
+                names.toArray(new String[0]),
+                Collections.unmodifiableMap(phrasesBySkill),
+                nameToId
+        );
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Canonical name for a skill name or alias (case-insensitive), or null if unknown
+     */
+    public String canonicalName(String skill) {
+        int id = nameIndex.get(skill);
+        return id >= 0 ? names[id] : null;
+    }
+
+    /**
+     * Canonical name for a skill name or alias that may contain a typo ("Kubernates"),
+     * or null if no single skill is close enough
+     */
+    public String closestName(String skill) {
+        String exact = canonicalName(skill);
+        if (exact != null) {
+            return exact;
+        }
+        int id = fuzzyIndex.get(skill);
+        return id >= 0 ? names[id] : null;
+    }
+
+    /**
+     * Canonical name for known skills, tolerating small typos; unknown skills are
+     * returned capitalized ("kafka" -> "Kafka")
+     */
+    public String normalize(String skill) {
+        if (skill == null) {
+            return "";
+        }
+        String trimmed = skill.trim();
+        if (trimmed.isEmpty()) {
+            return "";
+        }
+        String cached = normalizedCache.get(trimmed);
+        if (cached != null) {
+            return cached;
+        }
+        String canonical = closestName(trimmed);
+        String normalized = canonical != null
+                ? canonical
+                : trimmed.substring(0, 1).toUpperCase() + trimmed.substring(1).toLowerCase();
+        normalizedCache.put(trimmed, normalized);
+        return normalized;
+    }
+
+    /**
+     * Phrases matched in free text for a canonical skill (empty for unknown skills)
+     */
+    public List<String> phrases(String canonicalName) {
+        return phrasesBySkill.getOrDefault(canonicalName, List.of());
+    }
+
+    public Map<String, List<String>> phrasesBySkill() {
+        return phrasesBySkill;
+    }
+
+    /**
+     * Matcher over every phrase in the taxonomy, built once per snapshot
+     */
+    public SkillMatcher matcher() {
+        return matcher;
+    }
+}
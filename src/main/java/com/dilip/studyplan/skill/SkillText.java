@@ -0,0 +1,35 @@
+package com.dilip.studyplan.skill;
+
+/**
+ * Shared normalization for skill names, aliases and matched text.
+ */
+final class SkillText {
+
+    private SkillText() {
+    }
+
+    /**
+     * Lower-case char by char, collapse whitespace runs to one space and trim
+     */
+    static String normalize(CharSequence phrase) {
+        StringBuilder sb = new StringBuilder(phrase.length());
+        boolean previousWasSpace = true;
+        for (int i = 0; i < phrase.length(); i++) {
+            char ch = phrase.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                if (!previousWasSpace) {
+                    sb.append(' ');
+                }
+                previousWasSpace = true;
+            } else {
+                sb.append(Character.toLowerCase(ch));
+                previousWasSpace = false;
+            }
+        }
+        int length = sb.length();
+        if (length > 0 && sb.charAt(length - 1) == ' ') {
+            sb.setLength(length - 1);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.dilip.studyplan.skill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact, immutable, case-insensitive trie from skill names/aliases to skill ids.
+ *
+ * Nodes are laid out breadth first in flat arrays with each node's children
+ * stored contiguously and sorted by label, so a lookup costs O(key length)
+ * binary searches over small ranges and the whole index is four arrays.
+ */
+public final class SkillTrie {
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] values;
+
+    private SkillTrie(char[] labels, int[] firstChild, int[] childCount, int[] values) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.values = values;
+    }
+
+    /**
+     * Build from key to value (value must be >= 0). Keys are normalized with
+     * {@link SkillText#normalize}; on duplicates the first value wins.
+     */
+    public static SkillTrie build(Map<String, Integer> entries) {
+        // 1. Pointer trie
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> nodeValues = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeValues.add(-1);
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = SkillText.normalize(entry.getKey());
+            if (key.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = children.get(node).get(key.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    nodeValues.add(-1);
+                    children.get(node).put(key.charAt(i), next);
+                }
+                node = next;
+            }
+            if (nodeValues.get(node) < 0) {
+                nodeValues.set(node, entry.getValue());
+            }
+        }
+
+        // 2. Breadth-first layout so siblings are contiguous
+        int nodeCount = children.size();
+        char[] labels = new char[nodeCount];
+        int[] firstChild = new int[nodeCount];
+        int[] childCount = new int[nodeCount];
+        int[] values = new int[nodeCount];
+
+        int[] queue = new int[nodeCount]; // old node ids in new order
+        queue[0] = 0;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int newId = head;
+            int oldId = queue[head++];
+            values[newId] = nodeValues.get(oldId);
+            TreeMap<Character, Integer> edges = children.get(oldId);
+            firstChild[newId] = tail;
+            childCount[newId] = edges.size();
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[tail] = edge.getKey();
+                queue[tail++] = edge.getValue();
+            }
+        }
+
+        return new SkillTrie(labels, firstChild, childCount, values);
+    }
+
+    /**
+     * Value stored for {@code key} (normalized on the fly), or -1 if absent
+     */
+    public int get(CharSequence key) {
+        if (key == null) {
+            return -1;
+        }
+        int node = 0;
+        boolean consumedAny = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                pendingSpace = consumedAny;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                if (node < 0) {
+                    return -1;
+                }
+                pendingSpace = false;
+            }
+            node = child(node, Character.toLowerCase(ch));
+            if (node < 0) {
+                return -1;
+            }
+            consumedAny = true;
+        }
+        return consumedAny ? values[node] : -1;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midLabel = labels[mid];
+            if (midLabel < label) {
+                low = mid + 1;
+            } else if (midLabel > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,132 @@
+package com.dilip.studyplan.skill;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact skill profile: interned skill ids (ascending) with parallel byte levels.
+ *
+ * Profiles are compared against a job's required skills as aligned
+ * {@code byte[]} level arrays, so readiness, gap sizes and level checks are
+ * plain loops over primitives with no string hashing or boxing. Maps and
+ * {@code SkillGap} objects are only built at the API boundary.
+ */
+public final class SkillVector {
+
+    /** Level every required skill is measured against. */
+    public static final int REQUIRED_LEVEL = 4;
+
+    private static final SkillVector EMPTY = new SkillVector(new int[0], new byte[0]);
+
+    private final int[] ids;
+    private final byte[] levels;
+
+    private SkillVector(int[] ids, byte[] levels) {
+        this.ids = ids;
+        this.levels = levels;
+    }
+
+    /**
+     * Vector from skill name to level. Names that were never interned cannot be
+     * required by any job, so they are dropped instead of growing the interner.
+     * Levels are stored as bytes and clamped to 0..127: a negative self rating
+     * counts as 0 instead of pulling readiness below what the other skills earn.
+     */
+    public static SkillVector of(Map<String, Integer> levelsByName, SkillIds skillIds) {
+        if (levelsByName == null || levelsByName.isEmpty()) {
+            return EMPTY;
+        }
+        long[] packed = new long[levelsByName.size()];
+        int n = 0;
+        for (Map.Entry<String, Integer> entry : levelsByName.entrySet()) {
+            int id = skillIds.id(entry.getKey());
+            int level = entry.getValue() != null ? clamp(entry.getValue()) : 0;
+            if (id >= 0 && level > 0) {
+                packed[n++] = ((long) id << 8) | level;
+            }
+        }
+        Arrays.sort(packed, 0, n);
+
+        int[] ids = new int[n];
+        byte[] levels = new byte[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = (int) (packed[i] >>> 8);
+            levels[i] = (byte) (packed[i] & 0xFF);
+        }
+        return new SkillVector(ids, levels);
+    }
+
+    /**
+     * Ids for required skill names in order, interning new names
+     */
+    public static int[] internAll(List<String> names, SkillIds skillIds) {
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = skillIds.intern(names.get(i));
+        }
+        return ids;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public int levelAt(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Level for a skill id, 0 if absent
+     */
+    public int level(int skillId) {
+        int index = Arrays.binarySearch(ids, skillId);
+        return index >= 0 ? levels[index] : 0;
+    }
+
+    /**
+     * Current levels aligned with {@code requiredIds}
+     */
+    public byte[] levelsFor(int[] requiredIds) {
+        byte[] aligned = new byte[requiredIds.length];
+        for (int i = 0; i < requiredIds.length; i++) {
+            aligned[i] = (byte) level(requiredIds[i]);
+        }
+        return aligned;
+    }
+
+    /**
+     * Readiness percentage (current levels over required levels, capped at 100) for aligned levels
+     */
+    public static double readiness(byte[] currentLevels) {
+        if (currentLevels.length == 0) {
+            return 100.0;
+        }
+        int current = 0;
+        for (byte level : currentLevels) {
+            current += level;
+        }
+        return Math.min(100.0, 100.0 * current / (REQUIRED_LEVEL * currentLevels.length));
+    }
+
+    /**
+     * How many aligned levels are at least {@code minLevel}
+     */
+    public static int countAtLeast(byte[] currentLevels, int minLevel) {
+        int count = 0;
+        for (byte level : currentLevels) {
+            if (level >= minLevel) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int clamp(int level) {
+        return Math.max(0, Math.min(Byte.MAX_VALUE, level));
+    }
+}
@@ -0,0 +1,118 @@
+package com.dilip.studyplan.skill;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Text split once into lower-cased tokens with character offsets and line numbers.
+ *
+ * Tokens are runs of letters/digits. A few symbols stay attached so tech names
+ * survive tokenization: trailing '+' / '#' ("c++", "c#", "5+"), '%' after a
+ * number ("40%"), and an inner or leading '.' followed by a letter or digit
+ * ("node.js", ".net").
+ */
+public final class TokenizedText {
+
+    private final String text;
+    private final String[] terms;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] lines;
+    private final int size;
+
+    private TokenizedText(String text, String[] terms, int[] starts, int[] ends, int[] lines, int size) {
+        this.text = text;
+        this.terms = terms;
+        this.starts = starts;
+        this.ends = ends;
+        this.lines = lines;
+        this.size = size;
+    }
+
+    public static TokenizedText of(String text) {
+        String source = text != null ? text : "";
+        int capacity = Math.max(16, source.length() / 6);
+        String[] terms = new String[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] lines = new int[capacity];
+        int size = 0;
+
+        int line = 0;
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+                continue;
+            }
+            boolean leadingDot = c == '.' && i + 1 < length && Character.isLetterOrDigit(source.charAt(i + 1))
+                    && (i == 0 || !Character.isLetterOrDigit(source.charAt(i - 1)));
+            if (!Character.isLetterOrDigit(c) && !leadingDot) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            i++;
+            while (i < length) {
+                char next = source.charAt(i);
+                if (Character.isLetterOrDigit(next)) {
+                    i++;
+                } else if (next == '.' && i + 1 < length && Character.isLetterOrDigit(source.charAt(i + 1))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            // Attached suffix symbols: c++, c#, 5+, 40%
+            while (i < length && (source.charAt(i) == '+' || source.charAt(i) == '#')) {
+                i++;
+            }
+            if (i < length && source.charAt(i) == '%' && Character.isDigit(source.charAt(i - 1))) {
+                i++;
+            }
+
+            if (size == terms.length) {
+                int grown = size * 2;
+                terms = Arrays.copyOf(terms, grown);
+                starts = Arrays.copyOf(starts, grown);
+                ends = Arrays.copyOf(ends, grown);
+                lines = Arrays.copyOf(lines, grown);
+            }
+            terms[size] = source.substring(start, i).toLowerCase(Locale.ROOT);
+            starts[size] = start;
+            ends[size] = i;
+            lines[size] = line;
+            size++;
+        }
+
+        return new TokenizedText(source, terms, starts, ends, lines, size);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String term(int index) {
+        return terms[index];
+    }
+
+    public int start(int index) {
+        return starts[index];
+    }
+
+    public int end(int index) {
+        return ends[index];
+    }
+
+    public int line(int index) {
+        return lines[index];
+    }
+}
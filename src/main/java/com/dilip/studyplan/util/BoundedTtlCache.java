@@ -0,0 +1,120 @@
+package com.dilip.studyplan.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small thread-safe LRU cache with a time-to-live per entry.
+ *
+ * Entries are evicted when they expire, when the entry count exceeds
+ * {@code maxEntries}, or when the summed weight exceeds {@code maxWeight}.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    public BoundedTtlCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Long.MAX_VALUE, value -> 0L);
+    }
+
+    public BoundedTtlCache(int maxEntries, Duration ttl, long maxWeight, ToLongFunction<V> weigher) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            removeEntry(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long now = System.nanoTime();
+        removeEntry(key);
+
+        Entry<V> entry = new Entry<>(value, now + ttlNanos, weigher.applyAsLong(value));
+        entries.put(key, entry);
+        totalWeight += entry.weight;
+
+        evict(now);
+    }
+
+    public synchronized V remove(K key) {
+        Entry<V> removed = removeEntry(key);
+        return removed != null ? removed.value : null;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Drop least recently used entries until both bounds hold. Expired entries found at the
+     * head are dropped too; any others are removed lazily by {@link #get}.
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            boolean overCapacity = entries.size() > maxEntries || totalWeight > maxWeight;
+            if (!overCapacity && !eldest.getValue().isExpired(now)) {
+                break;
+            }
+            totalWeight -= eldest.getValue().weight;
+            it.remove();
+        }
+    }
+
+    private Entry<V> removeEntry(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+        return removed;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private final long weight;
+
+        private Entry(V value, long expiresAt, long weight) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
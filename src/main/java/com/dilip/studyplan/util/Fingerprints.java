@@ -0,0 +1,29 @@
+package com.dilip.studyplan.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content fingerprints used as cache keys for documents and derived results.
+ */
+public final class Fingerprints {
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Hex-encoded SHA-256 of the UTF-8 bytes of {@code text}.
+     */
+    public static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((text != null ? text : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
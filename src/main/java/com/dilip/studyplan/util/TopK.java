@@ -0,0 +1,52 @@
+package com.dilip.studyplan.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the K largest items seen (by the comparator) in a bounded min-heap:
+ * O(log K) per offer and O(K) memory regardless of how many items are offered.
+ * Not thread-safe; give each thread its own and {@link #merge} them.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    public TopK(int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, order);
+    }
+
+    public void offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    public TopK<T> merge(TopK<T> other) {
+        for (T item : other.heap) {
+            offer(item);
+        }
+        return this;
+    }
+
+    /**
+     * Kept items, largest first
+     */
+    public List<T> toSortedList() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(order.reversed());
+        return items;
+    }
+}
@@ -0,0 +1,10 @@
+-- Schema as it existed before Flyway (study_plan only, created by ddl-auto=update).
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE study_plan (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    topic VARCHAR(255),
+    plan TEXT,
+    generated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+-- History is listed newest first and paged by seeking past (generated_at, id).
+-- Including topic makes the index covering: the summary query never reads the plan rows.
+CREATE INDEX idx_study_plan_history ON study_plan (generated_at, id, topic);
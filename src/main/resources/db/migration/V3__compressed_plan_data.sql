@@ -0,0 +1,3 @@
+-- Plan text moves to a compressed binary column (see CompressedText).
+-- Existing rows keep their TEXT plan until PlanCompressionMigrator rewrites them.
+ALTER TABLE study_plan ADD COLUMN plan_data LONGBLOB;
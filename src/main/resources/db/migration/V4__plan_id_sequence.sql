@@ -0,0 +1,10 @@
+-- Pooled-lo id blocks for study plans (see PlanIdAllocator), so ids are known
+-- before the insert and plans can be written in JDBC batches.
+CREATE TABLE id_sequence (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_sequence (sequence_name, next_val)
+SELECT 'study_plan', COALESCE(MAX(id), 0) + 1 FROM study_plan;
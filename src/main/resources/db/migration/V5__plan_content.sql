@@ -0,0 +1,12 @@
+-- Plan bodies stored once per distinct text, keyed by SHA-256 and shared by reference.
+-- ref_count is the number of study_plan rows pointing at the body; it is deleted at zero.
+CREATE TABLE plan_content (
+    hash VARCHAR(64) NOT NULL,
+    body LONGBLOB NOT NULL,
+    ref_count BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (hash)
+);
+
+ALTER TABLE study_plan ADD COLUMN content_hash VARCHAR(64);
+CREATE INDEX idx_study_plan_content_hash ON study_plan (content_hash);
@@ -0,0 +1,10 @@
+-- Plans past the retention age move here (see PlanRetentionJob). Bodies stay in
+-- plan_content, so an archived row is only a few dozen bytes.
+CREATE TABLE study_plan_archive (
+    id BIGINT NOT NULL,
+    topic VARCHAR(255),
+    content_hash VARCHAR(64),
+    generated_at DATETIME(6),
+    archived_at DATETIME(6),
+    PRIMARY KEY (id)
+);
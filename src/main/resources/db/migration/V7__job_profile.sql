@@ -0,0 +1,11 @@
+-- Stored JD skill profiles for reverse job matching. Baselined databases skip V1, so the
+-- table is created here; IF NOT EXISTS covers databases where ddl-auto=update already made it.
+CREATE TABLE IF NOT EXISTS job_profile (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    fingerprint VARCHAR(64) NOT NULL,
+    title VARCHAR(255),
+    required_skills TEXT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_job_profile_fingerprint UNIQUE (fingerprint)
+);
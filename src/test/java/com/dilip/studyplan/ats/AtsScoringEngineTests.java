@@ -0,0 +1,70 @@
+package com.dilip.studyplan.ats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillTaxonomy;
+
+class AtsScoringEngineTests {
+
+	private final AtsScoringEngine engine = AtsScoringEngine.withDefaultExtractors(Map.of());
+
+	@Test
+	void buildsFeatureVectorInOnePass() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader("Java | j2ee\nDocker\n"));
+		AnalyzedDocument resume = AnalyzedDocument.analyze("""
+				Experience
+				Developed Java services, cut latency by 40%
+				Education: Bachelor of Engineering
+				""", "fp", taxonomy);
+
+		AtsScore score = engine.score(new AtsInput(resume, List.of("Java", "Docker"), new byte[] {3, 0}));
+
+		assertThat(score.getFeatures())
+				.containsEntry(AtsFeature.KEYWORDS, 0.5)
+				.containsEntry(AtsFeature.SKILL_LEVEL, 0.5)
+				.containsEntry(AtsFeature.YEARS, 1.0)
+				.containsEntry(AtsFeature.PROJECTS, 1.0)
+				.containsEntry(AtsFeature.EDUCATION, 1.0)
+				.containsEntry(AtsFeature.ACTION_VERBS, 1.0)
+				.containsEntry(AtsFeature.QUANTIFIABLE_RESULTS, 1.0);
+		assertThat(score.toPercent()).isEqualTo("65%");
+	}
+
+	@Test
+	void rescoresNewLevelsWithoutChangingTokenFeatures() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader("Java\nDocker\n"));
+		AnalyzedDocument resume = AnalyzedDocument.analyze("Developed Java services", "fp", taxonomy);
+		List<String> required = List.of("Java", "Docker");
+
+		AtsScore before = engine.score(new AtsInput(resume, required, new byte[] {3, 0}));
+		AtsScore after = engine.rescore(before, new AtsInput(resume, required, new byte[] {3, 4}));
+
+		assertThat(after.getFeatures()).containsEntry(AtsFeature.SKILL_LEVEL, 1.0);
+		assertThat(after.getScore())
+				.isEqualTo(engine.score(new AtsInput(resume, required, new byte[] {3, 4})).getScore());
+		assertThat(after.getFeatures().get(AtsFeature.KEYWORDS)).isEqualTo(before.getFeatures().get(AtsFeature.KEYWORDS));
+	}
+
+	@Test
+	void scansLargeResumesToTheEnd() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader("Java\n"));
+		// Used to backtrack badly in the old ".*\\d+%.*" style regex; only the last line decides the feature
+		String numbers = "1234567890 ".repeat(200_000);
+		AnalyzedDocument without = AnalyzedDocument.analyze(numbers + "no numbers with units", "fp1", taxonomy);
+		AnalyzedDocument with = AnalyzedDocument.analyze(numbers + "cut latency by 40%", "fp2", taxonomy);
+
+		AtsScore withoutScore = engine.score(new AtsInput(without, List.of("Java"), new byte[1]));
+		AtsScore withScore = engine.score(new AtsInput(with, List.of("Java"), new byte[1]));
+
+		assertThat(withoutScore.getFeatures()).containsEntry(AtsFeature.QUANTIFIABLE_RESULTS, 0.0);
+		assertThat(withScore.getFeatures()).containsEntry(AtsFeature.QUANTIFIABLE_RESULTS, 1.0);
+	}
+}
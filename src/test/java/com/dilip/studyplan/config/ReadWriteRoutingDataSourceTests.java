@@ -0,0 +1,102 @@
+package com.dilip.studyplan.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import jakarta.servlet.http.Cookie;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private final WriteStickiness stickiness = new WriteStickiness("jdbc:h2:mem:replica", 60_000, "test-key");
+	private final DataSource dataSource = new LazyConnectionDataSourceProxy(
+			new ReadWriteRoutingDataSource(database("primary"), database("replica"), stickiness));
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+	@AfterEach
+	void clearRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void routesReadOnlyTransactionsToReplicaAndEverythingElseToPrimary() {
+		assertThat(serverName(true)).isEqualTo("replica");
+		assertThat(serverName(false)).isEqualTo("primary");
+		assertThat(jdbcTemplate.queryForObject("SELECT name FROM server", String.class)).isEqualTo("primary");
+	}
+
+	@Test
+	void readsStayOnPrimaryForTheClientThatJustWrote() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+		assertThat(serverName(true)).isEqualTo("replica");
+
+		stickiness.markWrite();
+
+		assertThat(serverName(true)).isEqualTo("primary");
+
+		// The client's next request carries the cookie and no session
+		Cookie cookie = response.getCookie(WriteStickiness.COOKIE_NAME);
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setCookies(cookie);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next, new MockHttpServletResponse()));
+		assertThat(serverName(true)).isEqualTo("primary");
+		assertThat(next.getSession(false)).isNull();
+	}
+
+	@Test
+	void ignoresForgedAndForeignCookies() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+		stickiness.markWrite();
+		String signature = response.getCookie(WriteStickiness.COOKIE_NAME).getValue().split("\\.")[1];
+
+		for (String value : new String[] {System.currentTimeMillis() + "." + signature, "garbage", "123."}) {
+			MockHttpServletRequest next = new MockHttpServletRequest();
+			next.setCookies(new Cookie(WriteStickiness.COOKIE_NAME, value));
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next));
+			assertThat(serverName(true)).as(value).isEqualTo("replica");
+		}
+
+		// Signed by another instance's key
+		WriteStickiness other = new WriteStickiness("jdbc:h2:mem:replica", 60_000, "other-key");
+		MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), otherResponse));
+		other.markWrite();
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setCookies(otherResponse.getCookie(WriteStickiness.COOKIE_NAME));
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next));
+		assertThat(serverName(true)).isEqualTo("replica");
+	}
+
+	private String serverName(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+	}
+
+	private static DataSource database(String name) {
+		DataSource database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName(name + "-" + System.nanoTime())
+				.build();
+		JdbcTemplate setup = new JdbcTemplate(database);
+		setup.execute("CREATE TABLE server (name VARCHAR(20))");
+		setup.update("INSERT INTO server (name) VALUES (?)", name);
+		return database;
+	}
+}
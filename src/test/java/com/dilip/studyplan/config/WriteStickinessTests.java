@@ -0,0 +1,72 @@
+package com.dilip.studyplan.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.http.Cookie;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Primary and replica are separate databases here and nothing copies rows between them,
+ * so a read that sees a just-written plan can only have gone to the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WriteStickinessTests {
+
+	private static final String PRIMARY_URL = "jdbc:h2:mem:sticky-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final String REPLICA_URL = "jdbc:h2:mem:sticky-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void databases(DynamicPropertyRegistry registry) {
+		// Same schema as the primary, but empty
+		Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+
+		registry.add("spring.datasource.url", () -> PRIMARY_URL);
+		registry.add("spring.datasource.driverClassName", () -> "org.h2.Driver");
+		registry.add("spring.datasource.username", () -> "sa");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+		registry.add("datasource.replica.url", () -> REPLICA_URL);
+		registry.add("datasource.replica.max-lag-ms", () -> "60000");
+		registry.add("plans.write-behind.enabled", () -> "false");
+		registry.add("openrouter.api.key", () -> "");
+	}
+
+	@Test
+	void clientThatSavedReadsItsPlanBackWithoutASession() throws Exception {
+		MvcResult saved = mockMvc.perform(post("/api/study/generate")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"topic\":\"Kubernetes\",\"days\":3}"))
+				.andExpect(status().isOk())
+				.andReturn();
+		assertThat(saved.getRequest().getSession(false)).isNull();
+		Cookie cookie = saved.getResponse().getCookie(WriteStickiness.COOKIE_NAME);
+		assertThat(cookie).isNotNull();
+
+		mockMvc.perform(get("/api/study/history").cookie(cookie))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].topic").value("Kubernetes"));
+
+		// Any other client still reads from the (empty) replica
+		mockMvc.perform(get("/api/study/history"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items").isEmpty());
+	}
+}
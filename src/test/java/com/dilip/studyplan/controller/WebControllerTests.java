@@ -0,0 +1,91 @@
+package com.dilip.studyplan.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dilip.studyplan.document.AnalysisStore;
+import com.dilip.studyplan.document.DocumentStore;
+import com.dilip.studyplan.dto.GapAnalysisResponse;
+import com.dilip.studyplan.dto.GoalRequest;
+import com.dilip.studyplan.dto.SkillGap;
+import com.dilip.studyplan.dto.StudyPlanResponse;
+import com.dilip.studyplan.service.SkillGapService;
+import com.dilip.studyplan.service.StudyPlanService;
+
+@WebMvcTest(WebController.class)
+@Import(AnalysisStore.class)
+class WebControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AnalysisStore analysisStore;
+
+	@MockBean
+	private SkillGapService skillGapService;
+
+	@MockBean
+	private StudyPlanService studyPlanService;
+
+	@MockBean
+	private DocumentStore documentStore;
+
+	@Test
+	void planFromAStoredAnalysisSkipsReanalysis() throws Exception {
+		String analysisId = analysisStore.save(analysis("Kafka"));
+		when(skillGapService.generatePlanFromGaps(any(), any())).thenReturn(plan());
+
+		mockMvc.perform(post("/generate-plan-from-gap").param("analysisId", analysisId))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeExists("response"));
+
+		verify(skillGapService, never()).analyzeGaps(any());
+		verify(skillGapService).generatePlanFromGaps(any(GoalRequest.class),
+				argThat(analysis -> analysisId.equals(analysis.getAnalysisId())));
+	}
+
+	@Test
+	void unknownOrExpiredAnalysisIdFallsBackToAFreshAnalysis() throws Exception {
+		GapAnalysisResponse fresh = analysis("Go");
+		when(skillGapService.resolveJdText(any())).thenReturn("Backend engineer, Go and Kafka");
+		when(skillGapService.analyzeGaps(any())).thenReturn(fresh);
+		when(skillGapService.generatePlanFromGaps(any(), any())).thenReturn(plan());
+
+		mockMvc.perform(post("/generate-plan-from-gap").param("analysisId", "expired-id"))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeExists("response"));
+
+		verify(skillGapService).analyzeGaps(any());
+		verify(skillGapService).generatePlanFromGaps(any(GoalRequest.class), argThat(analysis -> analysis == fresh));
+	}
+
+	private static GapAnalysisResponse analysis(String skill) {
+		GapAnalysisResponse analysis = new GapAnalysisResponse(new ArrayList<>(List.of(skill)),
+				new ArrayList<>(List.of(new SkillGap(skill, 3, 0, "HIGH"))), "0%");
+		analysis.setAtsScore("N/A");
+		analysis.setRelevanceScore("N/A");
+		analysis.setPrioritizedSkills(new ArrayList<>(List.of(skill)));
+		return analysis;
+	}
+
+	private static StudyPlanResponse plan() {
+		return new StudyPlanResponse(1L, "Master skills for JOB: Kafka", "Day 1: Kafka basics", "10 Mar 2024, 09:00");
+	}
+}
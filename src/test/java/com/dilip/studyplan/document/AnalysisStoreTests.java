@@ -0,0 +1,71 @@
+package com.dilip.studyplan.document;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.dilip.studyplan.dto.GapAnalysisResponse;
+import com.dilip.studyplan.dto.SkillGap;
+
+class AnalysisStoreTests {
+
+	@Test
+	void findsTheSavedAnalysisById() {
+		AnalysisStore store = new AnalysisStore(10, 60);
+
+		String id = store.save(analysis());
+		GapAnalysisResponse found = store.find(id).orElseThrow();
+
+		assertThat(found.getAnalysisId()).isEqualTo(id);
+		assertThat(found.getRequiredSkills()).containsExactly("Java", "Kafka");
+		assertThat(found.getGaps()).extracting(SkillGap::getSkillName).containsExactly("Kafka");
+		assertThat(found.getGaps().get(0).getGapSize()).isEqualTo(3);
+		assertThat(found.getReadinessScore()).isEqualTo("50%");
+		assertThat(found.getAtsScore()).isEqualTo("70%");
+	}
+
+	@Test
+	void changesToSavedOrFoundAnalysesDoNotReachTheStore() {
+		AnalysisStore store = new AnalysisStore(10, 60);
+		GapAnalysisResponse saved = analysis();
+		String id = store.save(saved);
+
+		saved.getRequiredSkills().add("Go");
+		saved.getGaps().get(0).setCurrentLevel(3);
+		GapAnalysisResponse found = store.find(id).orElseThrow();
+		found.getPrioritizedSkills().clear();
+		found.setReadinessScore("100%");
+
+		GapAnalysisResponse again = store.find(id).orElseThrow();
+		assertThat(again).isNotSameAs(found);
+		assertThat(again.getRequiredSkills()).containsExactly("Java", "Kafka");
+		assertThat(again.getGaps().get(0).getGapSize()).isEqualTo(3);
+		assertThat(again.getPrioritizedSkills()).containsExactly("Kafka");
+		assertThat(again.getReadinessScore()).isEqualTo("50%");
+	}
+
+	@Test
+	void unknownBlankAndExpiredIdsAreNotFound() throws InterruptedException {
+		AnalysisStore store = new AnalysisStore(10, 60);
+		assertThat(store.find("no-such-id")).isEmpty();
+		assertThat(store.find(" ")).isEmpty();
+		assertThat(store.find(null)).isEmpty();
+
+		AnalysisStore expiring = new AnalysisStore(10, 0);
+		String id = expiring.save(analysis());
+		Thread.sleep(1);
+		assertThat(expiring.find(id)).isEmpty();
+	}
+
+	private static GapAnalysisResponse analysis() {
+		List<SkillGap> gaps = new ArrayList<>(List.of(new SkillGap("Kafka", 3, 0, "HIGH")));
+		GapAnalysisResponse analysis = new GapAnalysisResponse(new ArrayList<>(List.of("Java", "Kafka")), gaps, "50%");
+		analysis.setAtsScore("70%");
+		analysis.setRelevanceScore("40%");
+		analysis.setPrioritizedSkills(new ArrayList<>(List.of("Kafka")));
+		return analysis;
+	}
+}
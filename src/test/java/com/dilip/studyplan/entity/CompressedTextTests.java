@@ -0,0 +1,30 @@
+package com.dilip.studyplan.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedTextTests {
+
+	@Test
+	void compressesRepetitivePlansAndRoundTrips() {
+		String plan = "## Day 1 🚀\n- Learn Spring Boot basics ✅\n- Practice REST endpoints 📚\n".repeat(400);
+
+		byte[] stored = CompressedText.encode(plan);
+
+		assertThat(stored[2]).isEqualTo(CompressedText.CODEC_DEFLATE);
+		assertThat(stored.length).isLessThan(plan.length() / 5);
+		assertThat(CompressedText.fromStored(stored).text()).isEqualTo(plan);
+	}
+
+	@Test
+	void storesShortTextRawAndRejectsUnknownHeaders() {
+		byte[] stored = CompressedText.encode("Day 1: Java");
+
+		assertThat(stored[2]).isEqualTo(CompressedText.CODEC_RAW);
+		assertThat(CompressedText.decode(stored)).isEqualTo("Day 1: Java");
+		assertThatThrownBy(() -> CompressedText.decode("plain text".getBytes()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,72 @@
+package com.dilip.studyplan.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class PlanIdAllocatorTests {
+
+	private final DataSource database = database();
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+
+	@Test
+	void handsOutConsecutiveIdsWithinABlock() {
+		PlanIdAllocator allocator = new PlanIdAllocator(jdbcTemplate, transactionManager, 5);
+
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			ids.add(allocator.next());
+		}
+
+		assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT next_val FROM id_sequence WHERE sequence_name = 'study_plan'", Long.class)).isEqualTo(11L);
+	}
+
+	@Test
+	void blocksOfTwoAllocatorsNeverOverlap() {
+		PlanIdAllocator first = new PlanIdAllocator(jdbcTemplate, transactionManager, 5);
+		PlanIdAllocator second = new PlanIdAllocator(jdbcTemplate, transactionManager, 5);
+
+		Set<Long> ids = new HashSet<>();
+		for (int i = 0; i < 23; i++) {
+			assertThat(ids.add(first.next())).isTrue();
+			assertThat(ids.add(second.next())).isTrue();
+		}
+
+		assertThat(ids).hasSize(46);
+	}
+
+	@Test
+	void startsAfterRowsWrittenBeforeTheSequenceExisted() {
+		DataSource legacy = new DriverManagerDataSource(
+				"jdbc:h2:mem:ids-legacy-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(legacy).target("3").load().migrate();
+		new JdbcTemplate(legacy).update("INSERT INTO study_plan (id, topic, generated_at) VALUES (41, 'Old', NOW())");
+		Flyway.configure().dataSource(legacy).load().migrate();
+
+		PlanIdAllocator allocator = new PlanIdAllocator(
+				new JdbcTemplate(legacy), new DataSourceTransactionManager(legacy), 5);
+
+		assertThat(allocator.next()).isEqualTo(42L);
+	}
+
+	private static DataSource database() {
+		DataSource database = new DriverManagerDataSource(
+				"jdbc:h2:mem:ids-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(database).load().migrate();
+		return database;
+	}
+}
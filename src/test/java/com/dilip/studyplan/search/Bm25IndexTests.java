@@ -0,0 +1,133 @@
+package com.dilip.studyplan.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class Bm25IndexTests {
+
+	@Test
+	void ranksRareTermsAboveCommonOnes() {
+		Bm25Index index = new Bm25Index();
+		int kafka = index.add("kafka", List.of("java", "kafka", "streams"));
+		int plain = index.add("plain", List.of("java", "spring", "rest"));
+		index.add("other", List.of("java", "python"));
+
+		Bm25Index.Query query = index.compile(List.of("java", "kafka"));
+
+		assertThat(index.score(query, kafka)).isGreaterThan(index.score(query, plain));
+		assertThat(index.score(query, plain)).isPositive();
+	}
+
+	@Test
+	void addsEachKeyOnceAndScoresUnindexedDocuments() {
+		Bm25Index index = new Bm25Index();
+		int first = index.add("doc", List.of("java", "kafka"));
+		int again = index.add("doc", List.of("java", "kafka"));
+		index.add("other", List.of("python"));
+
+		Bm25Index.Query query = index.compile(List.of("kafka"));
+
+		assertThat(again).isEqualTo(first);
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.score(query, List.of("java", "kafka"))).isEqualTo(index.score(query, first));
+	}
+
+	@Test
+	void searchRanksMatchesAndSkipsRemovedDocuments() {
+		Bm25Index index = new Bm25Index();
+		index.add("kafka", List.of("java", "kafka", "kafka", "streams"));
+		index.add("spring", List.of("java", "spring", "rest"));
+		index.add("python", List.of("python", "django"));
+
+		List<Bm25Index.Hit> hits = index.search(index.compile(List.of("java", "kafka")), 10);
+		assertThat(hits).extracting(Bm25Index.Hit::key).containsExactly("kafka", "spring");
+
+		assertThat(index.remove("kafka")).isTrue();
+		assertThat(index.remove("kafka")).isFalse();
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.docId("kafka")).isEqualTo(-1);
+		assertThat(index.search(index.compile(List.of("java", "kafka")), 10))
+				.extracting(Bm25Index.Hit::key).containsExactly("spring");
+	}
+
+	@Test
+	void expandsPrefixesToIndexedTerms() {
+		Bm25Index index = new Bm25Index();
+		index.add("boot", List.of("spring", "boot"));
+		index.add("springs", List.of("springsteen"));
+		index.add("kotlin", List.of("kotlin"));
+
+		List<Bm25Index.Hit> hits = index.search(index.compile(List.of(), List.of("spr")), 10);
+
+		assertThat(hits).extracting(Bm25Index.Hit::key).containsExactlyInAnyOrder("boot", "springs");
+		assertThat(index.search(index.compile(List.of(), List.of("zz")), 10)).isEmpty();
+	}
+
+	@Test
+	void compactionDropsRemovedDocumentsAndKeepsScores() {
+		Bm25Index index = new Bm25Index();
+		index.add("gone", List.of("kafka", "legacy"));
+		index.add("kafka", List.of("java", "kafka", "streams"));
+		index.add("spring", List.of("java", "spring"));
+		index.remove("gone");
+		Bm25Index.Query before = index.compile(List.of("java", "kafka"));
+		double kafkaBefore = index.search(before, 1).get(0).score();
+
+		index.compact();
+
+		assertThat(index.removedCount()).isZero();
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search(index.compile(List.of(), List.of("leg")), 10)).isEmpty();
+		List<Bm25Index.Hit> hits = index.search(index.compile(List.of("java", "kafka")), 10);
+		assertThat(hits).extracting(Bm25Index.Hit::key).containsExactly("kafka", "spring");
+		// Exact document frequency after compaction: "kafka" is now in 1 of 2 docs, as before the removal was counted
+		assertThat(hits.get(0).score()).isGreaterThanOrEqualTo(kafkaBefore);
+		assertThat(index.score(index.compile(List.of("spring")), index.docId("spring"))).isPositive();
+	}
+
+	@Test
+	void longCompressedPostingListsKeepEveryFrequency() {
+		Bm25Index index = new Bm25Index();
+		// Gaps and frequencies past one var-int byte, lists spanning many skip intervals
+		for (int i = 0; i < 5000; i++) {
+			List<String> terms = new ArrayList<>();
+			terms.add("common");
+			if (i % 300 == 0) {
+				for (int n = 0; n < 200 + i % 7; n++) {
+					terms.add("rare");
+				}
+			}
+			terms.add("filler" + (i % 11));
+			index.add("doc" + i, terms);
+		}
+
+		Bm25Index.Query rare = index.compile(List.of("rare"));
+		for (int i = 0; i < 5000; i++) {
+			double expected = index.score(rare, i % 300 == 0 ? termsOf(i) : List.of("common", "filler" + (i % 11)));
+			assertThat(index.score(rare, index.docId("doc" + i))).as("doc" + i).isEqualTo(expected);
+		}
+		assertThat(index.search(rare, 100)).hasSize(17);
+		assertThat(index.search(index.compile(List.of("common")), 10_000)).hasSize(5000);
+
+		for (int i = 0; i < 5000; i += 2) {
+			index.remove("doc" + i);
+		}
+		index.compact();
+		assertThat(index.search(index.compile(List.of("common")), 10_000)).hasSize(2500);
+		assertThat(index.score(index.compile(List.of("filler5")), index.docId("doc4999"))).isPositive();
+	}
+
+	private static List<String> termsOf(int i) {
+		List<String> terms = new ArrayList<>();
+		terms.add("common");
+		for (int n = 0; n < 200 + i % 7; n++) {
+			terms.add("rare");
+		}
+		terms.add("filler" + (i % 11));
+		return terms;
+	}
+}
@@ -0,0 +1,30 @@
+package com.dilip.studyplan.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.dilip.studyplan.skill.SkillIds;
+import com.dilip.studyplan.skill.SkillVector;
+
+class JobSkillIndexTests {
+
+	@Test
+	void scoresOnlyJobsSharingCandidateSkills() {
+		SkillIds skillIds = new SkillIds();
+		JobSkillIndex index = new JobSkillIndex();
+		index.add(1L, "Java backend", SkillVector.internAll(List.of("Java", "Spring"), skillIds));
+		index.add(2L, "Data engineer", SkillVector.internAll(List.of("Java", "Kafka", "Spark"), skillIds));
+		index.add(3L, "Frontend", SkillVector.internAll(List.of("React"), skillIds));
+
+		SkillVector candidate = SkillVector.of(Map.of("Java", 4, "Spring", 2, "Rust", 3), skillIds);
+		List<JobSkillIndex.Match> matches = index.match(candidate, 5);
+
+		assertThat(matches).extracting(JobSkillIndex.Match::getJobId).containsExactly(1L, 2L);
+		assertThat(matches.get(0).getReadiness()).isEqualTo(75.0);
+		assertThat(matches.get(1).getReadiness()).isEqualTo(100.0 * 4 / 12);
+	}
+}
@@ -0,0 +1,116 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.dilip.studyplan.dto.HistoryPage;
+import com.dilip.studyplan.dto.StudyPlanSummary;
+import com.dilip.studyplan.exception.InvalidRequestException;
+
+/**
+ * Keyset pagination of /history through the real repository queries
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HistoryPaginationTests {
+
+	private static final LocalDateTime SAME_TIME = LocalDateTime.of(2024, 3, 10, 9, 0);
+
+	@Autowired
+	private StudyPlanService studyPlanService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> "jdbc:h2:mem:history-pages;MODE=MySQL;DB_CLOSE_DELAY=-1");
+		registry.add("spring.datasource.driverClassName", () -> "org.h2.Driver");
+		registry.add("spring.datasource.username", () -> "sa");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+		registry.add("openrouter.api.key", () -> "");
+		registry.add("plans.write-behind.enabled", () -> "false");
+	}
+
+	@BeforeEach
+	void emptyHistory() {
+		jdbcTemplate.update("DELETE FROM study_plan");
+	}
+
+	@Test
+	void splitsPlansWithTheSameTimestampAcrossPagesById() {
+		for (long id = 1; id <= 5; id++) {
+			insertPlan(id, SAME_TIME);
+		}
+		insertPlan(6, SAME_TIME.minusMinutes(1));
+
+		HistoryPage first = studyPlanService.getHistoryPage(null, 2);
+		HistoryPage second = studyPlanService.getHistoryPage(first.getNextCursor(), 2);
+		HistoryPage third = studyPlanService.getHistoryPage(second.getNextCursor(), 2);
+
+		assertThat(ids(first)).containsExactly(5L, 4L);
+		assertThat(ids(second)).containsExactly(3L, 2L);
+		assertThat(ids(third)).containsExactly(1L, 6L);
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		insertPlan(1, SAME_TIME.minusDays(1));
+		insertPlan(2, SAME_TIME);
+		insertPlan(3, SAME_TIME);
+
+		HistoryPage first = studyPlanService.getHistoryPage(null, 2);
+		HistoryPage last = studyPlanService.getHistoryPage(first.getNextCursor(), 2);
+
+		assertThat(first.getNextCursor()).isNotNull();
+		assertThat(ids(last)).containsExactly(1L);
+		assertThat(last.getNextCursor()).isNull();
+		// A page that happens to end exactly at the oldest plan is the last one too
+		assertThat(studyPlanService.getHistoryPage(null, 3).getNextCursor()).isNull();
+	}
+
+	@Test
+	void malformedCursorIsABadRequest() throws Exception {
+		String notAPosition = Base64.getUrlEncoder().encodeToString("yesterday|7".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> studyPlanService.getHistoryPage(notAPosition, 2))
+				.isInstanceOf(InvalidRequestException.class);
+		assertThatThrownBy(() -> studyPlanService.getHistoryPage("not*base64", 2))
+				.isInstanceOf(InvalidRequestException.class);
+		mockMvc.perform(get("/api/study/history").param("cursor", "not*base64"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid history cursor"));
+	}
+
+	private void insertPlan(long id, LocalDateTime generatedAt) {
+		jdbcTemplate.update("INSERT INTO study_plan (id, topic, plan, generated_at) VALUES (?, ?, ?, ?)",
+				id, "Topic " + id, "Plan " + id, Timestamp.valueOf(generatedAt));
+	}
+
+	private static List<Long> ids(HistoryPage page) {
+		return page.getItems().stream().map(StudyPlanSummary::getId).toList();
+	}
+}
@@ -0,0 +1,119 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.dilip.studyplan.dto.JobMatch;
+import com.dilip.studyplan.entity.JobProfile;
+import com.dilip.studyplan.repository.JobProfileRepository;
+import com.dilip.studyplan.skill.AnalyzedDocument;
+import com.dilip.studyplan.skill.SkillIds;
+import com.dilip.studyplan.skill.SkillTaxonomy;
+
+class JobMatchServiceTests {
+
+	private final JobProfileRepository repository = mock(JobProfileRepository.class);
+	private final Queue<Runnable> queued = new ArrayDeque<>();
+	private final JobMatchService service = new JobMatchService(repository, new SkillIds(), queued::add, 10);
+
+	@Test
+	void registerOnlyQueuesTheWrite() throws IOException {
+		when(repository.findByFingerprint(anyString())).thenReturn(Optional.empty());
+		when(repository.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+
+		service.register(jd("jd-1", "Backend Engineer\nJava and Kafka"), List.of("Java", "Kafka"));
+
+		verify(repository, never()).save(any());
+		assertThat(service.match(Map.of("Java", 3), null)).isEmpty();
+
+		runQueued();
+
+		verify(repository).save(any());
+		List<JobMatch> matches = service.match(Map.of("Java", 3), null);
+		assertThat(matches).extracting(JobMatch::getTitle).containsExactly("Backend Engineer");
+		assertThat(matches.get(0).getMissingSkills()).containsExactly("Kafka");
+	}
+
+	@Test
+	void storesEachJdOnce() throws IOException {
+		when(repository.findByFingerprint(anyString())).thenReturn(Optional.empty());
+		when(repository.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+		AnalyzedDocument jd = jd("jd-1", "Backend Engineer\nJava");
+
+		service.register(jd, List.of("Java"));
+		service.register(jd, List.of("Java"));
+		runQueued();
+		service.register(jd, List.of("Java"));
+
+		assertThat(queued).isEmpty();
+		verify(repository, times(1)).save(any());
+	}
+
+	@Test
+	void failedWriteIsRetriedOnTheNextRegistration() throws IOException {
+		when(repository.findByFingerprint(anyString())).thenReturn(Optional.empty());
+		when(repository.save(any()))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenAnswer(invocation -> withId(invocation.getArgument(0), 1L));
+		AnalyzedDocument jd = jd("jd-1", "Backend Engineer\nJava");
+
+		service.register(jd, List.of("Java"));
+		runQueued(); // Fails, and is not rethrown on the writer thread
+		assertThat(service.match(Map.of("Java", 3), null)).isEmpty();
+
+		service.register(jd, List.of("Java"));
+		runQueued();
+
+		assertThat(service.match(Map.of("Java", 3), null)).hasSize(1);
+	}
+
+	@Test
+	void fullWriterQueueDoesNotFailTheAnalysis() throws IOException {
+		AtomicInteger offered = new AtomicInteger();
+		JobMatchService saturated = new JobMatchService(repository, new SkillIds(), task -> {
+			offered.incrementAndGet();
+			throw new RejectedExecutionException("queue full");
+		}, 10);
+		AnalyzedDocument jd = jd("jd-1", "Backend Engineer\nJava");
+
+		saturated.register(jd, List.of("Java"));
+		saturated.register(jd, List.of("Java")); // Not remembered as stored, so offered again
+
+		assertThat(offered).hasValue(2);
+		verify(repository, never()).findByFingerprint(anyString());
+	}
+
+	private void runQueued() {
+		while (!queued.isEmpty()) {
+			queued.poll().run();
+		}
+	}
+
+	private static JobProfile withId(JobProfile profile, Long id) {
+		profile.setId(id);
+		return profile;
+	}
+
+	private static AnalyzedDocument jd(String fingerprint, String text) throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader("Java\nKafka\n"));
+		return AnalyzedDocument.analyze(text, fingerprint, taxonomy);
+	}
+}
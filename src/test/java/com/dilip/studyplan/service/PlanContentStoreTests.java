@@ -0,0 +1,102 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class PlanContentStoreTests {
+
+	private DataSource dataSource = database(";MODE=MySQL");
+	private JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+	private TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	private PlanContentStore store = new PlanContentStore(jdbcTemplate, 100, 60, 1_000_000);
+
+	@Test
+	void identicalTextsShareOneBody() {
+		List<String> hashes = store.addReferences(List.of("Week 1: basics", "Week 2: more", "Week 1: basics"));
+		store.addReferences(List.of("Week 1: basics"));
+
+		assertThat(hashes.get(0)).isEqualTo(hashes.get(2)).isEqualTo(PlanContentStore.hashOf("Week 1: basics"));
+		assertThat(count()).isEqualTo(2);
+		assertThat(refCount(hashes.get(0))).isEqualTo(3);
+		assertThat(refCount(hashes.get(1))).isEqualTo(1);
+		assertThat(store.body(hashes.get(0))).isEqualTo("Week 1: basics");
+	}
+
+	@Test
+	void bodyIsDeletedWhenTheLastReferenceIsReleased() {
+		String hash = store.addReferences(List.of("Week 1: basics", "Week 1: basics")).get(0);
+
+		store.release(hash);
+		assertThat(refCount(hash)).isEqualTo(1);
+
+		store.release(hash);
+		assertThat(count()).isZero();
+	}
+
+	@Test
+	void concurrentInsertsOfTheSameNewTextBothCount() throws Exception {
+		insertTheSameNewTextFromTwoTransactions();
+	}
+
+	@Test
+	void concurrentInsertsOfTheSameNewTextBothCountWithMerge() throws Exception {
+		dataSource = database("");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		store = new PlanContentStore(jdbcTemplate, 100, 60, 1_000_000);
+
+		insertTheSameNewTextFromTwoTransactions();
+	}
+
+	private void insertTheSameNewTextFromTwoTransactions() throws Exception {
+		CountDownLatch firstInserted = new CountDownLatch(1);
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+			store.addReferences(List.of("Week 1: basics"));
+			firstInserted.countDown();
+			sleep(300); // Still uncommitted while the second transaction inserts the same body
+		}));
+		assertThat(firstInserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		transaction.executeWithoutResult(status -> store.addReferences(List.of("Week 1: basics")));
+		first.get(5, TimeUnit.SECONDS);
+
+		assertThat(count()).isEqualTo(1);
+		assertThat(refCount(PlanContentStore.hashOf("Week 1: basics"))).isEqualTo(2);
+	}
+
+	private long count() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM plan_content", Long.class);
+	}
+
+	private long refCount(String hash) {
+		return jdbcTemplate.queryForObject("SELECT ref_count FROM plan_content WHERE hash = ?", Long.class, hash);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static DataSource database(String mode) {
+		DataSource database = new DriverManagerDataSource(
+				"jdbc:h2:mem:plan-content-" + System.nanoTime() + mode + ";DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(database).load().migrate();
+		return database;
+	}
+}
@@ -0,0 +1,93 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PlanExportServiceTests {
+
+	@Test
+	void leavesPlainFieldsUnquoted() {
+		assertThat(PlanExportService.csvField("Spring Boot")).isEqualTo("Spring Boot");
+		assertThat(PlanExportService.csvField("")).isEqualTo("");
+		assertThat(PlanExportService.csvField(null)).isEqualTo("");
+	}
+
+	@Test
+	void quotesFieldsWithSeparatorsQuotesAndLineBreaks() {
+		assertThat(PlanExportService.csvField("Java, Docker")).isEqualTo("\"Java, Docker\"");
+		assertThat(PlanExportService.csvField("the \"hard\" parts")).isEqualTo("\"the \"\"hard\"\" parts\"");
+		assertThat(PlanExportService.csvField("week 1\nweek 2")).isEqualTo("\"week 1\nweek 2\"");
+		assertThat(PlanExportService.csvField("week 1\r\nweek 2")).isEqualTo("\"week 1\r\nweek 2\"");
+		assertThat(PlanExportService.csvField("\"")).isEqualTo("\"\"\"\"");
+	}
+
+	@Test
+	void includesTheWholeOfTheToDay() throws IOException {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database());
+		insertPlan(jdbcTemplate, 1, "before", LocalDateTime.of(2024, 3, 9, 23, 59, 59));
+		insertPlan(jdbcTemplate, 2, "first", LocalDateTime.of(2024, 3, 10, 0, 0));
+		insertPlan(jdbcTemplate, 3, "last", LocalDateTime.of(2024, 3, 11, 23, 59, 59, 999_999_000));
+		insertPlan(jdbcTemplate, 4, "after", LocalDateTime.of(2024, 3, 12, 0, 0));
+
+		String csv = export(jdbcTemplate, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 11));
+
+		assertThat(csv.split("\n")).extracting(line -> line.split(",")[1])
+				.containsExactly("topic", "first", "last");
+	}
+
+	@Test
+	void exportsOneDayWhenFromEqualsTo() throws IOException {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database());
+		insertPlan(jdbcTemplate, 1, "morning", LocalDateTime.of(2024, 3, 10, 8, 0));
+		insertPlan(jdbcTemplate, 2, "night", LocalDateTime.of(2024, 3, 10, 23, 30));
+		insertPlan(jdbcTemplate, 3, "next", LocalDateTime.of(2024, 3, 11, 0, 0));
+
+		String csv = export(jdbcTemplate, LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10));
+
+		assertThat(csv.split("\n")).extracting(line -> line.split(",")[1])
+				.containsExactly("topic", "morning", "night");
+	}
+
+	private static String export(JdbcTemplate jdbcTemplate, LocalDate from, LocalDate to) throws IOException {
+		PlanExportService service = new PlanExportService(jdbcTemplate,
+				new DataSourceTransactionManager(jdbcTemplate.getDataSource()), new ObjectMapper(), 100);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.export(PlanExportService.Format.CSV, from, to, false, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static void insertPlan(JdbcTemplate jdbcTemplate, long id, String topic, LocalDateTime generatedAt) {
+		jdbcTemplate.update("INSERT INTO study_plan (id, topic, plan, generated_at) VALUES (?, ?, ?, ?)",
+				id, topic, "plan " + id, Timestamp.valueOf(generatedAt));
+	}
+
+	private static DataSource database() {
+		DataSource database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName("export-" + System.nanoTime())
+				.build();
+		JdbcTemplate setup = new JdbcTemplate(database);
+		setup.execute("CREATE TABLE study_plan (id BIGINT PRIMARY KEY, topic VARCHAR(255), plan CLOB, "
+				+ "plan_data BLOB, content_hash VARCHAR(64), generated_at TIMESTAMP(6))");
+		setup.execute("CREATE TABLE study_plan_archive (id BIGINT PRIMARY KEY, topic VARCHAR(255), "
+				+ "content_hash VARCHAR(64), generated_at TIMESTAMP(6), archived_at TIMESTAMP(6))");
+		setup.execute("CREATE TABLE plan_content (hash VARCHAR(64) PRIMARY KEY, body BLOB, ref_count BIGINT)");
+		return database;
+	}
+}
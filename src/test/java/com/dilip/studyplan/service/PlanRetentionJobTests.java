@@ -0,0 +1,110 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.dilip.studyplan.dto.StudyPlanResponse;
+
+@SpringBootTest
+class PlanRetentionJobTests {
+
+	@Autowired
+	private PlanRetentionJob job;
+
+	@Autowired
+	private StudyPlanService studyPlanService;
+
+	@Autowired
+	private PlanContentStore contentStore;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> "jdbc:h2:mem:retention;MODE=MySQL;DB_CLOSE_DELAY=-1");
+		registry.add("spring.datasource.driverClassName", () -> "org.h2.Driver");
+		registry.add("spring.datasource.username", () -> "sa");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+		registry.add("openrouter.api.key", () -> "");
+		registry.add("plans.write-behind.enabled", () -> "false");
+		registry.add("plans.retention.max-age-days", () -> "365");
+		registry.add("plans.retention.batch-size", () -> "2");
+		registry.add("plans.retention.max-batches-per-run", () -> "2");
+		registry.add("plans.retention.pause-ms", () -> "0");
+		registry.add("plans.retention.initial-delay-ms", () -> "3600000"); // Only the tests run it
+	}
+
+	@BeforeEach
+	void emptyTables() {
+		jdbcTemplate.update("DELETE FROM study_plan");
+		jdbcTemplate.update("DELETE FROM study_plan_archive");
+		jdbcTemplate.update("DELETE FROM plan_content");
+	}
+
+	@Test
+	void movesPlansPastTheCutoffToTheArchiveAndLeavesNewerOnes() {
+		insertPlan(101, "Old", "Week 1: basics", 400);
+		insertPlan(102, "Recent", "Week 1: basics", 30);
+
+		job.archiveExpiredPlans();
+
+		assertThat(ids("study_plan")).containsExactly(102L);
+		assertThat(ids("study_plan_archive")).containsExactly(101L);
+		assertThat(jdbcTemplate.queryForObject("SELECT topic FROM study_plan_archive WHERE id = 101", String.class))
+				.isEqualTo("Old");
+		// The archived row keeps its reference to the shared body
+		assertThat(jdbcTemplate.queryForObject("SELECT ref_count FROM plan_content", Long.class)).isEqualTo(2);
+	}
+
+	@Test
+	void archivesAtMostTheBatchLimitPerRunOldestFirst() {
+		for (int i = 0; i < 5; i++) {
+			insertPlan(201 + i, "Old " + i, "Plan " + i, 500 - i);
+		}
+
+		job.archiveExpiredPlans(); // 2 batches of 2
+
+		assertThat(ids("study_plan_archive")).containsExactly(201L, 202L, 203L, 204L);
+		assertThat(ids("study_plan")).containsExactly(205L);
+
+		job.archiveExpiredPlans();
+
+		assertThat(ids("study_plan")).isEmpty();
+		assertThat(ids("study_plan_archive")).hasSize(5);
+	}
+
+	@Test
+	void archivedPlanIsStillServedByGetPlan() {
+		insertPlan(301, "Kafka", "Day 1: topics and partitions", 400);
+
+		job.archiveExpiredPlans();
+		StudyPlanResponse plan = studyPlanService.getPlan(301L);
+
+		assertThat(ids("study_plan")).isEmpty();
+		assertThat(plan.getTopic()).isEqualTo("Kafka");
+		assertThat(plan.getPlan()).isEqualTo("Day 1: topics and partitions");
+	}
+
+	private void insertPlan(long id, String topic, String text, int ageDays) {
+		String hash = contentStore.addReferences(List.of(text)).get(0);
+		jdbcTemplate.update("INSERT INTO study_plan (id, topic, content_hash, generated_at) VALUES (?, ?, ?, ?)",
+				id, topic, hash, Timestamp.valueOf(LocalDateTime.now().minusDays(ageDays)));
+	}
+
+	private List<Long> ids(String table) {
+		return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class);
+	}
+}
@@ -0,0 +1,71 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.dilip.studyplan.search.Bm25Index;
+
+class PlanSearchIndexTests {
+
+	@Test
+	void findsPlansByTopicAndBodyWordsAndPrefixes() {
+		PlanSearchIndex index = new PlanSearchIndex(null, Runnable::run, 100, 20, 100, 0.2);
+		index.index(1L, "Kubernetes", "Day 1: pods and deployments");
+		index.index(2L, "Spring Boot", "Day 1: REST controllers, then Kubernetes deployment");
+		index.index(3L, "Python", "Day 1: Django");
+
+		assertThat(index.search("kubernetes", null)).extracting(Bm25Index.Hit::key).containsExactly("1", "2");
+		assertThat(index.search("djan*", null)).extracting(Bm25Index.Hit::key).containsExactly("3");
+		assertThat(index.isPartial()).isFalse();
+	}
+
+	@Test
+	void evictsTheOldestPlansPastTheCapAndReportsItself() {
+		PlanSearchIndex index = new PlanSearchIndex(null, Runnable::run, 3, 20, 100, 0.2);
+		for (long id = 1; id <= 5; id++) {
+			index.index(id, "Kafka", "Topics and partitions");
+		}
+		index.index(0L, "Kafka", "Older than everything kept");
+
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.search("kafka", null)).extracting(Bm25Index.Hit::key).containsExactlyInAnyOrder("3", "4", "5");
+		assertThat(index.isPartial()).isTrue();
+
+		index.compactIfNeeded();
+		assertThat(index.search("kafka", null)).hasSize(3);
+	}
+
+	@Test
+	void rebuildIndexesTheNewestPlansUpToTheCap() {
+		DataSource database = new DriverManagerDataSource(
+				"jdbc:h2:mem:search-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(database).load().migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		for (long id = 1; id <= 4; id++) {
+			jdbcTemplate.update("INSERT INTO study_plan (id, topic, plan, generated_at) VALUES (?, 'Go', 'Goroutines', ?)",
+					id, now);
+		}
+		jdbcTemplate.update("INSERT INTO study_plan_archive (id, topic, generated_at) VALUES (0, 'Go', ?)", now);
+
+		PlanSearchIndex complete = new PlanSearchIndex(jdbcTemplate, Runnable::run, 10, 20, 100, 0.2);
+		complete.rebuild();
+		assertThat(complete.size()).isEqualTo(5);
+		assertThat(complete.isPartial()).isFalse();
+
+		PlanSearchIndex capped = new PlanSearchIndex(jdbcTemplate, Runnable::run, 3, 20, 100, 0.2);
+		capped.rebuild();
+		assertThat(capped.search("goroutines", null)).extracting(Bm25Index.Hit::key)
+				.containsExactlyInAnyOrder("2", "3", "4");
+		assertThat(capped.isPartial()).isTrue();
+	}
+}
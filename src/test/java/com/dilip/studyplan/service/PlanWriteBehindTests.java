@@ -0,0 +1,175 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.dilip.studyplan.config.WriteStickiness;
+import com.dilip.studyplan.entity.StudyPlan;
+import com.dilip.studyplan.repository.PlanIdAllocator;
+
+class PlanWriteBehindTests {
+
+	private final OutageDataSource dataSource = new OutageDataSource(database());
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+	private final PlanSearchIndex searchIndex = new PlanSearchIndex(jdbcTemplate, Runnable::run, 1000, 20, 100, 0.2);
+
+	@Test
+	void flushWritesBufferedPlansAndSharesIdenticalBodies() {
+		PlanWriteBehind writer = writer(0);
+		StudyPlan first = writer.save(plan("Java", "Week 1: basics"));
+		StudyPlan second = writer.save(plan("Java again", "Week 1: basics"));
+		assertThat(writer.pending(first.getId())).isPresent();
+		assertThat(count("study_plan")).isZero();
+
+		writer.flush();
+
+		assertThat(writer.pending(first.getId())).isEmpty();
+		assertThat(count("study_plan")).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT ref_count FROM plan_content", Long.class)).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT topic FROM study_plan WHERE id = ?", String.class, second.getId()))
+				.isEqualTo("Java again");
+	}
+
+	@Test
+	void keepsPlansThroughAnOutageAndWritesThemOnceTheDatabaseIsBack() {
+		PlanWriteBehind writer = writer(0);
+		StudyPlan saved = writer.save(plan("Kubernetes", "Pods and services"));
+
+		dataSource.down = true;
+		writer.flush();
+		writer.flush();
+		assertThat(writer.retryBacklog()).isEqualTo(1);
+		assertThat(writer.pending(saved.getId())).isPresent();
+
+		dataSource.down = false;
+		writer.flush();
+
+		assertThat(writer.retryBacklog()).isZero();
+		assertThat(writer.pending(saved.getId())).isEmpty();
+		assertThat(count("study_plan")).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT ref_count FROM plan_content", Long.class)).isEqualTo(1);
+	}
+
+	@Test
+	void waitsForTheBackoffBeforeRetrying() {
+		PlanWriteBehind writer = writer(60_000);
+		writer.save(plan("Kubernetes", "Pods and services"));
+
+		dataSource.down = true;
+		writer.flush();
+		dataSource.down = false;
+		writer.flush(); // Still backing off
+
+		assertThat(count("study_plan")).isZero();
+		assertThat(writer.retryBacklog()).isEqualTo(1);
+
+		writer.flushOnShutdown(); // Shutdown does not wait
+		assertThat(count("study_plan")).isEqualTo(1);
+	}
+
+	@Test
+	void dropsOnlyTheRowTheDatabaseRejectsWithoutLeakingItsBody() {
+		PlanWriteBehind writer = writer(0);
+		StudyPlan good = writer.save(plan("Docker", "Images and containers"));
+		StudyPlan bad = writer.save(plan("x".repeat(300), "Too long a topic")); // topic is VARCHAR(255)
+
+		writer.flush();
+
+		assertThat(writer.pending(good.getId())).isEmpty();
+		assertThat(writer.pending(bad.getId())).isEmpty();
+		assertThat(writer.retryBacklog()).isZero();
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM study_plan", Long.class)).containsExactly(good.getId());
+		assertThat(count("plan_content")).isEqualTo(1);
+		assertThat(searchIndex.size()).isEqualTo(1);
+	}
+
+	@Test
+	void deleteWhilePendingNeverWritesThePlan() {
+		PlanWriteBehind writer = writer(0);
+		StudyPlan kept = writer.save(plan("Go", "Goroutines"));
+		StudyPlan deleted = writer.save(plan("Rust", "Ownership"));
+
+		writer.delete(deleted.getId());
+		writer.flush();
+
+		assertThat(writer.pending(deleted.getId())).isEmpty();
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM study_plan", Long.class)).containsExactly(kept.getId());
+		assertThat(count("plan_content")).isEqualTo(1);
+	}
+
+	@Test
+	void deleteWhileWaitingForARetryNeverWritesThePlan() {
+		PlanWriteBehind writer = writer(0);
+		StudyPlan saved = writer.save(plan("Rust", "Ownership"));
+		dataSource.down = true;
+		writer.flush();
+		dataSource.down = false;
+
+		writer.delete(saved.getId());
+		writer.flush();
+
+		assertThat(writer.retryBacklog()).isZero();
+		assertThat(count("study_plan")).isZero();
+		assertThat(count("plan_content")).isZero();
+	}
+
+	private PlanWriteBehind writer(long initialBackoffMillis) {
+		return new PlanWriteBehind(jdbcTemplate, transactionManager,
+				new PlanIdAllocator(jdbcTemplate, transactionManager, 50),
+				new PlanContentStore(jdbcTemplate, 100, 60, 1_000_000),
+				new WriteStickiness("", 2000, ""), searchIndex,
+				true, 100, 10, initialBackoffMillis, 60_000);
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+	private static StudyPlan plan(String topic, String text) {
+		StudyPlan plan = new StudyPlan();
+		plan.setTopic(topic);
+		plan.setPlan(text);
+		plan.setGeneratedAt(LocalDateTime.now());
+		return plan;
+	}
+
+	private static DataSource database() {
+		DataSource database = new DriverManagerDataSource(
+				"jdbc:h2:mem:write-behind-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(database).load().migrate();
+		return database;
+	}
+
+	/**
+	 * Refuses connections while {@code down}, like a database that is restarting
+	 */
+	private static class OutageDataSource extends DelegatingDataSource {
+
+		volatile boolean down;
+
+		OutageDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (down) {
+				throw new SQLException("Connection refused", "08001");
+			}
+			return super.getConnection();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class SkillTaxonomyServiceTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reloadsWhenTheFileChanges() throws IOException {
+		Path file = write("# version: 1\nJava\n", 1_000);
+		SkillTaxonomyService service = new SkillTaxonomyService(new DefaultResourceLoader(), "file:" + file);
+
+		service.reloadIfChanged(); // Unchanged
+		assertThat(service.current().version()).isEqualTo("1");
+
+		write("# version: 2\nJava\nKafka\n", 2_000);
+		service.reloadIfChanged();
+
+		assertThat(service.isWatched()).isTrue();
+		assertThat(service.current().version()).isEqualTo("2");
+	}
+
+	@Test
+	void brokenFileKeepsTheCurrentVersionAndIsNotRetriedUntilItChanges() throws IOException {
+		Path file = write("# version: 1\nJava\n", 1_000);
+		SkillTaxonomyService service = new SkillTaxonomyService(new DefaultResourceLoader(), "file:" + file);
+
+		write("# version: 2\nJava\nJava\n", 2_000); // Duplicate skill
+		service.reloadIfChanged();
+		assertThat(service.current().version()).isEqualTo("1");
+
+		// Same modification time: still treated as the broken version, so not read again
+		write("# version: 3\nJava\n", 2_000);
+		service.reloadIfChanged();
+		assertThat(service.current().version()).isEqualTo("1");
+
+		write("# version: 3\nJava\n", 3_000);
+		service.reloadIfChanged();
+		assertThat(service.current().version()).isEqualTo("3");
+	}
+
+	@Test
+	void taxonomyInsideAJarIsLoadedButNotWatched() throws IOException {
+		Path jar = directory.resolve("skills.jar");
+		try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			out.putNextEntry(new JarEntry("skills/taxonomy.txt"));
+			out.write("# version: 5\nJava\n".getBytes(StandardCharsets.UTF_8));
+			out.closeEntry();
+		}
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+			SkillTaxonomyService service = new SkillTaxonomyService(
+					new DefaultResourceLoader(classLoader), "classpath:skills/taxonomy.txt");
+			service.reloadIfChanged();
+
+			assertThat(service.isWatched()).isFalse();
+			assertThat(service.current().version()).isEqualTo("5");
+		}
+	}
+
+	private Path write(String content, long modifiedMillis) throws IOException {
+		Path file = directory.resolve("taxonomy.txt");
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochMilli(modifiedMillis)));
+		return file;
+	}
+}
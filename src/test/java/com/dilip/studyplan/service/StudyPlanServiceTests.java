@@ -0,0 +1,122 @@
+package com.dilip.studyplan.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.dilip.studyplan.client.AIClient;
+import com.dilip.studyplan.dto.StudyPlanResponse;
+import com.dilip.studyplan.entity.StudyPlan;
+import com.dilip.studyplan.repository.StudyPlanArchiveRepository;
+import com.dilip.studyplan.repository.StudyPlanRepository;
+
+class StudyPlanServiceTests {
+
+	private final StudyPlanRepository repository = mock(StudyPlanRepository.class);
+	private final StudyPlanArchiveRepository archiveRepository = mock(StudyPlanArchiveRepository.class);
+	private final PlanWriteBehind planWriter = mock(PlanWriteBehind.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final List<Boolean> readOnlyLoads = new ArrayList<>();
+	private final StudyPlanService service = service();
+
+	@Test
+	void servesRepeatedReadsFromTheCache() {
+		when(repository.findById(7L)).thenReturn(Optional.of(plan(7L, "Kafka")));
+
+		StudyPlanResponse first = service.getPlan(7L);
+		StudyPlanResponse second = service.getPlan(7L);
+
+		verify(repository, times(1)).findById(7L);
+		assertThat(second.getTopic()).isEqualTo("Kafka");
+		assertThat(second).isNotSameAs(first); // Callers get copies
+	}
+
+	@Test
+	void deleteEvictsThePlan() {
+		when(repository.findById(7L)).thenReturn(Optional.of(plan(7L, "Kafka")));
+		service.getPlan(7L);
+
+		service.deletePlan(7L);
+		when(repository.findById(7L)).thenReturn(Optional.empty());
+
+		verify(planWriter).delete(7L);
+		assertThatThrownBy(() -> service.getPlan(7L)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void planDeletedWhileItLoadsIsNotCached() {
+		when(repository.findById(7L)).thenAnswer(invocation -> {
+			service.deletePlan(7L); // Another request deletes it after this one read the row
+			return Optional.of(plan(7L, "Kafka"));
+		}).thenReturn(Optional.empty());
+
+		service.getPlan(7L);
+
+		assertThatThrownBy(() -> service.getPlan(7L)).isInstanceOf(IllegalArgumentException.class);
+		verify(repository, times(2)).findById(7L);
+	}
+
+	@Test
+	void recentlyWrittenOrDeletedPlansAreLoadedFromThePrimary() {
+		when(repository.findById(any())).thenAnswer(invocation -> Optional.of(plan(invocation.getArgument(0), "Go")));
+		PlanWriteBehind.Listener listener = listener();
+
+		service.getPlan(1L);
+		listener.saved(2L);
+		service.getPlan(2L);
+		service.deletePlan(3L);
+		service.getPlan(3L);
+
+		assertThat(readOnlyLoads).containsExactly(true, false, false);
+	}
+
+	@Test
+	void pendingPlanDroppedByTheWriterIsEvicted() {
+		StudyPlan pending = plan(9L, "Rust");
+		when(planWriter.pending(9L)).thenReturn(Optional.of(pending)).thenReturn(Optional.empty());
+		assertThat(service.getPlan(9L).getTopic()).isEqualTo("Rust");
+
+		listener().dropped(9L);
+
+		assertThatThrownBy(() -> service.getPlan(9L)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private PlanWriteBehind.Listener listener() {
+		ArgumentCaptor<PlanWriteBehind.Listener> listener = ArgumentCaptor.forClass(PlanWriteBehind.Listener.class);
+		verify(planWriter).addListener(listener.capture());
+		return listener.getValue();
+	}
+
+	private StudyPlanService service() {
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+			readOnlyLoads.add(invocation.<TransactionDefinition>getArgument(0).isReadOnly());
+			return null;
+		});
+		return new StudyPlanService(mock(AIClient.class), repository, archiveRepository, planWriter,
+				mock(PlanContentStore.class), mock(PlanSearchIndex.class), transactionManager,
+				20, 100, 100, 60, 1_000_000, 60_000);
+	}
+
+	private static StudyPlan plan(Long id, String topic) {
+		StudyPlan plan = new StudyPlan();
+		plan.setId(id);
+		plan.setTopic(topic);
+		plan.setPlan("Day 1: " + topic);
+		plan.setGeneratedAt(LocalDateTime.of(2024, 3, 10, 9, 0));
+		return plan;
+	}
+}
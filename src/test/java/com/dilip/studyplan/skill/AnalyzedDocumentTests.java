@@ -0,0 +1,32 @@
+package com.dilip.studyplan.skill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class AnalyzedDocumentTests {
+
+	@Test
+	void sharesHitsSectionsAndEvidenceFromOnePass() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader("Java | j2ee\nDocker\nKubernetes | k8s\n"));
+		String text = """
+				Summary
+				Backend engineer, 5 years of Java
+				Projects
+				Built a Docker image pipeline with Java and J2EE
+				""";
+
+		AnalyzedDocument document = AnalyzedDocument.analyze(text, "fp", taxonomy);
+
+		assertThat(document.foundSkills()).containsExactly("Java", "Docker");
+		assertThat(document.hits("Java")).isEqualTo(3);
+		assertThat(document.hits("Kubernetes")).isZero();
+		assertThat(document.hits("Kafka")).isEqualTo(-1);
+		assertThat(document.evidence("Java").getMaxYears()).isEqualTo(5);
+		assertThat(document.sectionAt(0)).isEqualTo(ResumeSection.OTHER);
+		assertThat(document.sectionAt(document.tokens().size() - 1)).isEqualTo(ResumeSection.PROJECTS);
+	}
+}
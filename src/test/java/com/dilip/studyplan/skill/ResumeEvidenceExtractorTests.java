@@ -0,0 +1,57 @@
+package com.dilip.studyplan.skill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ResumeEvidenceExtractorTests {
+
+	private static final String RESUME = """
+			Summary
+			Backend developer with 5+ years of Java experience.
+
+			Technical Skills: C++, Python, Docker
+
+			Projects
+			Inventory service built with Python and Docker
+
+			Certifications
+			AWS Certified Developer
+			""";
+
+	@Test
+	void collectsEvidencePerSkillInOnePass() {
+		Map<String, SkillEvidence> evidence = ResumeEvidenceExtractor.extract(
+				RESUME, List.of("Java", "C++", "Python", "Docker", "AWS", "Kubernetes"));
+
+		assertThat(evidence.get("Java").getMaxYears()).isEqualTo(5);
+		assertThat(evidence.get("C++").getMentions()).isEqualTo(1);
+		assertThat(evidence.get("C++").getSections()).containsExactly(ResumeSection.SKILLS);
+		assertThat(evidence.get("Python").getProjectMentions()).isPositive();
+		assertThat(evidence.get("AWS").getCertificationMentions()).isPositive();
+		assertThat(evidence.get("Kubernetes").getMentions()).isZero();
+	}
+
+	@Test
+	void infersLevelsFromEvidence() {
+		Map<String, SkillEvidence> evidence = ResumeEvidenceExtractor.extract(
+				RESUME, List.of("Java", "C++", "Docker", "Kubernetes"));
+
+		assertThat(evidence.get("Java").inferLevel()).isEqualTo(4);
+		assertThat(evidence.get("Docker").inferLevel()).isEqualTo(3);
+		assertThat(evidence.get("C++").inferLevel()).isEqualTo(2);
+		assertThat(evidence.get("Kubernetes").inferLevel()).isEqualTo(1);
+	}
+
+	@Test
+	void creditsOverlappingPhrasesOfOneSkillOnce() {
+		Map<String, SkillEvidence> evidence = ResumeEvidenceExtractor.extract(
+				TokenizedText.of("Built Spring Boot services; later moved off spring"),
+				Map.of("Spring Boot", List.of("spring", "spring boot", "boot")));
+
+		assertThat(evidence.get("Spring Boot").getMentions()).isEqualTo(2);
+	}
+}
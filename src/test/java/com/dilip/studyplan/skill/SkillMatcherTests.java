@@ -0,0 +1,34 @@
+package com.dilip.studyplan.skill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SkillMatcherTests {
+
+	private final SkillMatcher matcher = SkillMatcher.of(Map.of(
+			"JavaScript", List.of("js", "node.js"),
+			"SQL", List.of("db", "mysql"),
+			"Spring Boot", List.of("spring", "spring boot"),
+			"C++", List.of("cpp"),
+			"C", List.of()));
+
+	@Test
+	void respectsWordBoundaries() {
+		assertThat(matcher.findSkills("Parsed JSON feedback from the API")).isEmpty();
+		assertThat(matcher.findSkills("Wrote JS and tuned the db")).containsExactlyInAnyOrder("JavaScript", "SQL");
+		assertThat(matcher.findSkills("Embedded work in C++")).containsExactly("C++");
+	}
+
+	@Test
+	void countsOverlappingSynonymsAsOneMention() {
+		int[] counts = matcher.countHits("Spring  Boot services on Node.js with MySQL; more Spring later, then JS");
+
+		assertThat(counts[matcher.skillIndex("Spring Boot")]).isEqualTo(2);
+		assertThat(counts[matcher.skillIndex("JavaScript")]).isEqualTo(2);
+		assertThat(counts[matcher.skillIndex("SQL")]).isEqualTo(1);
+	}
+}
@@ -0,0 +1,58 @@
+package com.dilip.studyplan.skill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class SkillTaxonomyTests {
+
+	private static final String TAXONOMY = """
+			# version: 7
+			Spring Boot | springboot | ~spring
+			!Go | golang
+			Kubernetes | k8s
+			""";
+
+	@Test
+	void normalizesNamesAndAliases() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader(TAXONOMY));
+
+		assertThat(taxonomy.version()).isEqualTo("7");
+		assertThat(taxonomy.normalize("  SPRING   boot ")).isEqualTo("Spring Boot");
+		assertThat(taxonomy.normalize("k8s")).isEqualTo("Kubernetes");
+		assertThat(taxonomy.normalize("golang")).isEqualTo("Go");
+		assertThat(taxonomy.normalize("kafka")).isEqualTo("Kafka");
+		// Keyword hints are matched in text but are not names
+		assertThat(taxonomy.canonicalName("spring")).isNull();
+	}
+
+	@Test
+	void matchesOnlyUnambiguousPhrasesInText() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader(TAXONOMY));
+
+		assertThat(taxonomy.matcher().findSkills("Go to the spring meetup, deploy with k8s"))
+				.containsExactlyInAnyOrder("Spring Boot", "Kubernetes");
+		assertThat(taxonomy.matcher().findSkills("Services in Golang")).containsExactly("Go");
+	}
+
+	@Test
+	void correctsSmallTyposInLongerNames() throws IOException {
+		SkillTaxonomy taxonomy = SkillTaxonomy.parse(new StringReader(TAXONOMY + "PostgreSQL | postgres\nRuby\nRust\n"));
+
+		assertThat(taxonomy.normalize("Kubernates")).isEqualTo("Kubernetes");
+		assertThat(taxonomy.normalize("Postgress")).isEqualTo("PostgreSQL");
+		assertThat(taxonomy.normalize("Sprnigboot")).isEqualTo("Spring Boot");
+		// Short names are never corrected
+		assertThat(taxonomy.normalize("Rusy")).isEqualTo("Rusy");
+	}
+
+	@Test
+	void rejectsDuplicateSkills() {
+		assertThatThrownBy(() -> SkillTaxonomy.parse(new StringReader("Java\njava | j2ee\nJava\n")))
+				.isInstanceOf(IOException.class);
+	}
+}
@@ -0,0 +1,62 @@
+package com.dilip.studyplan.skill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SkillVectorTests {
+
+	@Test
+	void alignsLevelsWithTheRequiredSkills() {
+		SkillIds skillIds = new SkillIds();
+		int[] required = SkillVector.internAll(List.of("Kafka", "Java", "Docker"), skillIds);
+
+		SkillVector vector = SkillVector.of(Map.of("Java", 3, "Kafka", 1, "Unknown skill", 5), skillIds);
+
+		assertThat(vector.levelsFor(required)).containsExactly(1, 3, 0);
+		assertThat(vector.size()).isEqualTo(2); // Never-interned names are dropped
+		assertThat(skillIds.id("Unknown skill")).isNegative();
+	}
+
+	@Test
+	void readinessIsCurrentOverRequiredLevelsCappedAt100() {
+		assertThat(SkillVector.readiness(new byte[] {4, 2, 0})).isCloseTo(50.0, within(1e-9));
+		assertThat(SkillVector.readiness(new byte[] {1})).isCloseTo(25.0, within(1e-9));
+		assertThat(SkillVector.readiness(new byte[] {5, 5})).isEqualTo(100.0);
+		assertThat(SkillVector.readiness(new byte[0])).isEqualTo(100.0); // Nothing required
+	}
+
+	@Test
+	void countsLevelsAtOrAboveTheMinimum() {
+		byte[] levels = {0, 1, 2, 3, 4, 5};
+
+		assertThat(SkillVector.countAtLeast(levels, 3)).isEqualTo(3);
+		assertThat(SkillVector.countAtLeast(levels, 1)).isEqualTo(5);
+		assertThat(SkillVector.countAtLeast(levels, 6)).isZero();
+		assertThat(SkillVector.countAtLeast(new byte[0], 1)).isZero();
+	}
+
+	@Test
+	void clampsRatingsOutsideTheByteRange() {
+		SkillIds skillIds = new SkillIds();
+		int[] required = SkillVector.internAll(List.of("Java", "Go", "Rust", "Kafka"), skillIds);
+		Map<String, Integer> ratings = new HashMap<>();
+		ratings.put("Java", 1000);
+		ratings.put("Go", -3);
+		ratings.put("Rust", 128);
+		ratings.put("Kafka", null);
+
+		byte[] levels = SkillVector.of(ratings, skillIds).levelsFor(required);
+
+		assertThat(levels).containsExactly(127, 0, 127, 0);
+		// A negative rating no longer pulls readiness below what the other skills earn
+		byte[] withNegative = SkillVector.of(Map.of("Java", 4, "Go", -3), skillIds).levelsFor(new int[] {
+				skillIds.id("Java"), skillIds.id("Go")});
+		assertThat(SkillVector.readiness(withNegative)).isCloseTo(50.0, within(1e-9));
+	}
+}
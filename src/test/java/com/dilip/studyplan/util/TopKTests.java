@@ -0,0 +1,21 @@
+package com.dilip.studyplan.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTests {
+
+	@Test
+	void keepsLargestItemsAcrossMergedHeaps() {
+		TopK<Integer> top = IntStream.range(0, 10_000)
+				.parallel()
+				.boxed()
+				.collect(() -> new TopK<>(3, Comparator.<Integer>naturalOrder()), TopK::offer, TopK::merge);
+
+		assertThat(top.toSortedList()).containsExactly(9_999, 9_998, 9_997);
+	}
+}